@@ -0,0 +1,90 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.BatchConversionOptions;
+import com.axonivy.utils.pdfbox.model.BatchConversionReport;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfBatchConversionService;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Converts a directory of PDFs with {@link PdfBatchConversionService} and with
+ * a plain loop over {@link PdfService#writeZippedImagesFromPdf}, as callers
+ * wrote it before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BatchConversionBenchmark {
+
+  @Param({ "50" })
+  public int documents;
+
+  private Path inputDirectory;
+  private Path outputDirectory;
+  private ImageEncodingOptions options;
+
+  @Setup(Level.Trial)
+  public void createPdfs() throws IOException {
+    inputDirectory = Files.createTempDirectory("batch-in");
+    outputDirectory = Files.createTempDirectory("batch-out");
+    byte[] pdf = SyntheticPdfs.createDocument(4);
+    for (int i = 0; i < documents; i++) {
+      Files.write(inputDirectory.resolve("document_" + i + ".pdf"), pdf);
+    }
+    options = new ImageEncodingOptions("png", 72);
+  }
+
+  @TearDown(Level.Trial)
+  public void deleteFiles() throws IOException {
+    for (Path directory : new Path[] { inputDirectory, outputDirectory }) {
+      try (Stream<Path> files = Files.walk(directory)) {
+        for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+          Files.delete(file);
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  public BatchConversionReport batch() throws IOException {
+    return PdfBatchConversionService.convertDirectory(inputDirectory, outputDirectory,
+        new BatchConversionOptions(options));
+  }
+
+  @Benchmark
+  public void sequentialLoop() throws IOException {
+    try (Stream<Path> files = Files.list(inputDirectory)) {
+      for (Path file : files.toList()) {
+        try (OutputStream output = Files.newOutputStream(outputDirectory.resolve(file.getFileName() + ".zip"))) {
+          PdfService.writeZippedImagesFromPdf(PdfSource.of(file), options, 1, output);
+        }
+      }
+    }
+  }
+}
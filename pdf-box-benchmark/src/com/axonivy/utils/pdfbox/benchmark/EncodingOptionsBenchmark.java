@@ -0,0 +1,80 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.enums.ZipEntryMethod;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Compares the default encoding with the cheaper {@link ImageEncodingOptions}
+ * profiles at OCR resolution. The ZIP size of every profile is reported as
+ * the {@code createZippedImagesFromPdf:outputBytes} counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class EncodingOptionsBenchmark {
+
+  public enum Profile {
+    DEFAULT_PNG, GRAY_PNG_STORED, FAST_PNG_STORED, GRAY_JPEG_STORED, BINARY_PNG_STORED
+  }
+
+  @Param({ "DEFAULT_PNG", "GRAY_PNG_STORED", "FAST_PNG_STORED", "GRAY_JPEG_STORED", "BINARY_PNG_STORED" })
+  public Profile profile;
+
+  @Param({ "300" })
+  public int dpi;
+
+  private byte[] pdf;
+  private ImageEncodingOptions options;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createDocument(3);
+    options = createOptions();
+  }
+
+  @Benchmark
+  public byte[] createZippedImagesFromPdf(OutputSize outputSize) {
+    return outputSize.record(PdfService.createZippedImagesFromPdf(pdf, options));
+  }
+
+  private ImageEncodingOptions createOptions() {
+    ImageEncodingOptions result = new ImageEncodingOptions(profile == Profile.GRAY_JPEG_STORED ? "jpg" : "png", dpi);
+    if (profile == Profile.DEFAULT_PNG) {
+      return result;
+    }
+    result.setZipEntryMethod(ZipEntryMethod.STORED);
+    switch (profile) {
+    case GRAY_PNG_STORED -> result.setImageType(ImageType.GRAY);
+    case FAST_PNG_STORED -> result.setPngCompressionLevel(1);
+    case GRAY_JPEG_STORED -> {
+      result.setImageType(ImageType.GRAY);
+      result.setJpegQuality(0.8f);
+    }
+    case BINARY_PNG_STORED -> result.setImageType(ImageType.BINARY);
+    default -> {
+    }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,76 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Measures {@link PdfService#fillAcroForm(PDDocument, Map)} including loading
+ * the form, since callers always pay for both, and compares a full save of the
+ * filled form with an incremental update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class FillAcroFormBenchmark {
+
+  @Param({ "10", "100", "1000" })
+  public int fields;
+
+  private byte[] form;
+  private Map<String, String> data;
+
+  @Setup(Level.Trial)
+  public void createForm() throws IOException {
+    form = SyntheticPdfs.createForm(fields);
+    data = SyntheticPdfs.createFormData(fields);
+  }
+
+  @Benchmark
+  public void fillAcroForm(Blackhole blackhole) throws IOException {
+    try (PDDocument document = Loader.loadPDF(form)) {
+      PdfService.fillAcroForm(document, data);
+      blackhole.consume(document);
+    }
+  }
+
+  @Benchmark
+  public byte[] fillAndSave() throws IOException {
+    try (PDDocument document = Loader.loadPDF(form); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PdfService.fillAcroForm(document, data, AcroFormFillMode.GENERATE_APPEARANCES);
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  @Benchmark
+  public byte[] fillAndSaveIncremental() throws IOException {
+    try (PDDocument document = Loader.loadPDF(form); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PdfService.fillAcroFormIncremental(document, data, AcroFormFillMode.GENERATE_APPEARANCES, baos);
+      return baos.toByteArray();
+    }
+  }
+}
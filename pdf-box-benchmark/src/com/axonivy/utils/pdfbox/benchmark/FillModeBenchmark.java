@@ -0,0 +1,88 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Compares the {@link AcroFormFillMode}s from the point of view of a
+ * downstream consumer: how long it takes to print (render) the filled PDF and
+ * how large the file is. The output size of every mode is reported as the
+ * {@code fill:outputBytes} counter. For {@link AcroFormFillMode#NEED_APPEARANCES} the consumer has to
+ * build the appearances itself before rendering, as a viewer or printer would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class FillModeBenchmark {
+  private static final int RENDER_DPI = 150;
+
+  @Param({ "NEED_APPEARANCES", "GENERATE_APPEARANCES", "FLATTEN" })
+  public AcroFormFillMode fillMode;
+
+  @Param({ "100" })
+  public int fields;
+
+  private byte[] form;
+  private Map<String, String> data;
+  private byte[] filled;
+
+  @Setup(Level.Trial)
+  public void fillForm() throws IOException {
+    form = SyntheticPdfs.createForm(fields);
+    data = SyntheticPdfs.createFormData(fields);
+    filled = fillAndSave();
+  }
+
+  @Benchmark
+  public byte[] fill(OutputSize outputSize) throws IOException {
+    return outputSize.record(fillAndSave());
+  }
+
+  @Benchmark
+  public void renderFilled(Blackhole blackhole) throws IOException {
+    try (PDDocument document = Loader.loadPDF(filled)) {
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      if (acroForm != null && acroForm.getNeedAppearances()) {
+        acroForm.refreshAppearances();
+      }
+      PDFRenderer renderer = new PDFRenderer(document);
+      for (int i = 0; i < document.getNumberOfPages(); i++) {
+        blackhole.consume(renderer.renderImageWithDPI(i, RENDER_DPI));
+      }
+    }
+  }
+
+  private byte[] fillAndSave() throws IOException {
+    try (PDDocument document = Loader.loadPDF(form); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PdfService.fillAcroForm(document, data, fillMode);
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
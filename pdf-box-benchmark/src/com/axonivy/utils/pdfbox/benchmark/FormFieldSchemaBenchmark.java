@@ -0,0 +1,58 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.FormFieldSchema;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.FormFieldSchemaService;
+
+/**
+ * Measures building a {@link FormFieldSchema} on the first upload of a form
+ * and serving it from the cache on later uploads of the same form. Both
+ * include hashing the uploaded bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class FormFieldSchemaBenchmark {
+
+  @Param({ "100", "1000", "5000" })
+  public int fields;
+
+  private byte[] form;
+  private FormFieldSchemaService cachedService;
+
+  @Setup(Level.Trial)
+  public void createForm() throws IOException {
+    form = SyntheticPdfs.createForm(fields);
+    cachedService = new FormFieldSchemaService(1);
+    cachedService.getSchema(PdfSource.of(form));
+  }
+
+  @Benchmark
+  public FormFieldSchema buildSchema() throws IOException {
+    return new FormFieldSchemaService(1).getSchema(PdfSource.of(form));
+  }
+
+  @Benchmark
+  public FormFieldSchema cachedSchema() throws IOException {
+    return cachedService.getSchema(PdfSource.of(form));
+  }
+}
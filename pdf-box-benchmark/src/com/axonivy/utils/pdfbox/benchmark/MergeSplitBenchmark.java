@@ -0,0 +1,63 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfMergeSplitService;
+
+/**
+ * Measures merging filled forms into one print batch and splitting a large
+ * document into chunks of ten pages, both with temp file scratch storage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class MergeSplitBenchmark {
+  private static final int FORM_FIELDS = 20;
+  private static final int PAGES_PER_CHUNK = 10;
+
+  @Param({ "10", "100", "1000" })
+  public int documents;
+
+  private byte[] form;
+  private byte[] document;
+
+  @Setup(Level.Trial)
+  public void createPdfs() throws IOException {
+    form = SyntheticPdfs.createForm(FORM_FIELDS);
+    document = SyntheticPdfs.createDocument(documents);
+  }
+
+  @Benchmark
+  public void merge() throws IOException {
+    PdfMergeSplitService.merge(Collections.nCopies(documents, form).stream().map(PdfSource::of).iterator(),
+        OutputStream.nullOutputStream(), MemoryUsageSetting.setupTempFileOnly());
+  }
+
+  @Benchmark
+  public void split(Blackhole blackhole) throws IOException {
+    PdfMergeSplitService.split(PdfSource.of(document), PAGES_PER_CHUNK,
+        (chunkIndex, chunk) -> blackhole.consume(chunk.getNumberOfPages()), MemoryUsageSetting.setupTempFileOnly());
+  }
+}
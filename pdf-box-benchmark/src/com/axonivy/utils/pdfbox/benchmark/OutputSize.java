@@ -0,0 +1,29 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports the size of the output of a benchmark next to its score, e.g.
+ * {@code fill:outputBytes}. The benchmark sets the size of every output, so
+ * the counter shows the size of one output rather than a sum. Only the
+ * throughput and average time modes report auxiliary counters.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class OutputSize {
+  public long outputBytes;
+
+  @Setup(Level.Iteration)
+  public void reset() {
+    outputBytes = 0;
+  }
+
+  byte[] record(byte[] output) {
+    outputBytes = output.length;
+    return output;
+  }
+}
@@ -0,0 +1,78 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfPipeline;
+import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.service.PdfTextService;
+
+/**
+ * Measures reading, filling, rendering, extracting and saving a form in one
+ * {@link PdfPipeline} run against the same operations as separate calls that
+ * each parse the PDF again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PipelineBenchmark {
+
+  @Param({ "10", "100" })
+  public int fields;
+
+  private byte[] form;
+  private Map<String, String> data;
+  private ImageEncodingOptions options;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    form = SyntheticPdfs.createForm(fields);
+    data = SyntheticPdfs.createFormData(fields);
+    options = new ImageEncodingOptions("png", 72);
+  }
+
+  @Benchmark
+  public void pipeline(Blackhole blackhole) throws IOException {
+    new PdfPipeline()
+        .readFormValues(blackhole::consume)
+        .fillAcroForm(data, AcroFormFillMode.GENERATE_APPEARANCES)
+        .renderPages(options, blackhole::consume)
+        .extractText((pageIndex, text) -> blackhole.consume(text))
+        .save(OutputStream.nullOutputStream())
+        .run(PdfSource.of(form));
+  }
+
+  @Benchmark
+  public void separateCalls(Blackhole blackhole) throws IOException {
+    new PdfPipeline().readFormValues(blackhole::consume).run(PdfSource.of(form));
+    ByteArrayOutputStream filled = new ByteArrayOutputStream();
+    new PdfPipeline().fillAcroForm(data, AcroFormFillMode.GENERATE_APPEARANCES).save(filled).run(PdfSource.of(form));
+    PdfSource filledSource = PdfSource.of(filled.toByteArray());
+    PdfService.writeZippedImagesFromPdf(filledSource, options, 1, OutputStream.nullOutputStream());
+    PdfTextService.writeText(filledSource, Writer.nullWriter());
+  }
+}
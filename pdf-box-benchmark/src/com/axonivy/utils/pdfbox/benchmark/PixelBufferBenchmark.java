@@ -0,0 +1,80 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.rendering.ImageType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.PixelBufferOptions;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Compares handing raw pixels to a consumer with the round trip of encoding
+ * every page into a ZIP and decoding it again on the consumer side.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class PixelBufferBenchmark {
+  private static final Map<String, ImageType> IMAGE_TYPES = Map.of("gray", ImageType.GRAY, "rgb", ImageType.RGB);
+
+  @Param({ "gray", "rgb" })
+  public String colorMode;
+
+  private byte[] pdf;
+  private PixelBufferOptions pixelOptions;
+  private ImageEncodingOptions encodingOptions;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createDocument(5);
+    pixelOptions = new PixelBufferOptions(ImageEncodingOptions.DEFAULT_DPI, IMAGE_TYPES.get(colorMode));
+    encodingOptions = new ImageEncodingOptions("png", ImageEncodingOptions.DEFAULT_DPI, IMAGE_TYPES.get(colorMode));
+  }
+
+  @Benchmark
+  public long renderPixels() throws IOException {
+    LongAdder checksum = new LongAdder();
+    PdfService.renderPixels(PdfSource.of(pdf), pixelOptions, page -> checksum.add(page.getPixels().get(0)));
+    return checksum.sum();
+  }
+
+  @Benchmark
+  public long encodeAndDecode() throws IOException {
+    byte[] zip = PdfService.createZippedImagesFromPdf(pdf, encodingOptions);
+    long checksum = 0;
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zip))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(zis.readAllBytes()));
+        checksum += image.getRGB(0, 0) + entry.getSize();
+      }
+    }
+    return checksum;
+  }
+}
@@ -0,0 +1,54 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Measures {@link PdfService#createZippedImagesFromPdf(byte[], String, int)}.
+ * The formats are the extensions offered by the demo's
+ * SupportedImageFileExtension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class RenderBenchmark {
+
+  @Param({ "72", "150", "300" })
+  public int dpi;
+
+  @Param({ "png", "jpg", "jpeg" })
+  public String format;
+
+  @Param({ "1", "10" })
+  public int pages;
+
+  private byte[] pdf;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createDocument(pages);
+  }
+
+  @Benchmark
+  public byte[] createZippedImagesFromPdf() {
+    return PdfService.createZippedImagesFromPdf(pdf, format, dpi);
+  }
+}
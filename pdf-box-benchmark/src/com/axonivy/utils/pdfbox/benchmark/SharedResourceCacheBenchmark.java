@@ -0,0 +1,69 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.RenderedPage;
+import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.service.PdfTextService;
+import com.axonivy.utils.pdfbox.service.SharedResourceCache;
+
+/**
+ * Converts the same template document over and over, once with fonts shared
+ * through the {@link SharedResourceCache} and once with every document parsing
+ * its own fonts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class SharedResourceCacheBenchmark {
+
+  @Param({ "true", "false" })
+  public boolean shareFonts;
+
+  private byte[] pdf;
+  private ImageEncodingOptions options;
+  private SharedResourceCache previous;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createEmbeddedFontDocument(1);
+    options = new ImageEncodingOptions("png", 72);
+    previous = SharedResourceCache.getGlobal();
+    SharedResourceCache.setGlobal(new SharedResourceCache(shareFonts ? SharedResourceCache.DEFAULT_MAX_BYTES : 0));
+  }
+
+  @TearDown(Level.Trial)
+  public void restoreCache() {
+    SharedResourceCache.setGlobal(previous);
+  }
+
+  @Benchmark
+  public RenderedPage renderPage() throws IOException {
+    return PdfService.renderPage(PdfSource.of(pdf), 0, options);
+  }
+
+  @Benchmark
+  public String extractText() throws IOException {
+    return PdfTextService.extractText(PdfSource.of(pdf));
+  }
+}
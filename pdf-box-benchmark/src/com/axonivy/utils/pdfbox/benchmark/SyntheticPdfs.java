@@ -0,0 +1,187 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+
+/**
+ * Generates the documents used by the benchmarks, so results do not depend on
+ * sample files that happen to be lying around.
+ */
+public class SyntheticPdfs {
+  private static final int FIELDS_PER_PAGE = 25;
+  private static final String EMBEDDED_FONT_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+  private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod";
+
+  /**
+   * A document whose pages mix text, vector graphics and an embedded image,
+   * roughly like a scanned and annotated business letter.
+   */
+  public static byte[] createDocument(int pageCount) throws IOException {
+    try (PDDocument document = new PDDocument()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      PDImageXObject image = LosslessFactory.createFromImage(document, createGradientImage(400, 300));
+      for (int i = 0; i < pageCount; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.drawImage(image, 72, 420, 300, 225);
+          content.setNonStrokingColor(new Color(30, 90, 160));
+          for (int r = 0; r < 10; r++) {
+            content.addRect(72 + r * 40, 360, 30, 30 + r * 3);
+          }
+          content.fill();
+          content.setNonStrokingColor(Color.BLACK);
+          content.beginText();
+          content.setFont(font, 10);
+          content.setLeading(12);
+          content.newLineAtOffset(72, 330);
+          content.showText("Page " + (i + 1));
+          for (int line = 0; line < 20; line++) {
+            content.newLine();
+            content.showText(LOREM);
+          }
+          content.endText();
+        }
+      }
+      return save(document);
+    }
+  }
+
+  /**
+   * A text-only document set in a fully embedded TrueType font, like letters
+   * generated from one template. Parsing the font dominates loading it.
+   */
+  public static byte[] createEmbeddedFontDocument(int pageCount) throws IOException {
+    try (PDDocument document = new PDDocument();
+        InputStream fontData = PDDocument.class.getResourceAsStream(EMBEDDED_FONT_RESOURCE)) {
+      PDType0Font font = PDType0Font.load(document, fontData, false);
+      for (int i = 0; i < pageCount; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.beginText();
+          content.setFont(font, 10);
+          content.setLeading(12);
+          content.newLineAtOffset(72, 760);
+          content.showText("Page " + (i + 1));
+          for (int line = 0; line < 20; line++) {
+            content.newLine();
+            content.showText(LOREM);
+          }
+          content.endText();
+        }
+      }
+      return save(document);
+    }
+  }
+
+  /**
+   * A single A0 page with a dense grid of lines and labels, like an
+   * engineering drawing.
+   */
+  public static byte[] createDrawing() throws IOException {
+    try (PDDocument document = new PDDocument()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      PDPage page = new PDPage(PDRectangle.A0);
+      document.addPage(page);
+      float width = PDRectangle.A0.getWidth();
+      float height = PDRectangle.A0.getHeight();
+      try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+        content.setLineWidth(0.5f);
+        for (float x = 20; x < width; x += 20) {
+          content.moveTo(x, 0);
+          content.lineTo(x, height);
+        }
+        for (float y = 20; y < height; y += 20) {
+          content.moveTo(0, y);
+          content.lineTo(width, y);
+        }
+        content.stroke();
+        content.beginText();
+        content.setFont(font, 6);
+        for (int row = 0; row < height / 100; row++) {
+          content.newLineAtOffset(row == 0 ? 22 : 0, row == 0 ? 22 : 100);
+          content.showText("Section " + (row + 1) + " " + LOREM);
+        }
+        content.endText();
+      }
+      return save(document);
+    }
+  }
+
+  /**
+   * A form with the given number of text fields spread over as many pages as
+   * needed. Field names are {@code field_1 .. field_n}.
+   */
+  public static byte[] createForm(int fieldCount) throws IOException {
+    try (PDDocument document = new PDDocument()) {
+      PDAcroForm acroForm = new PDAcroForm(document);
+      PDResources resources = new PDResources();
+      resources.put(COSName.HELV, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+      acroForm.setDefaultResources(resources);
+      acroForm.setDefaultAppearance("/Helv 10 Tf 0 g");
+      document.getDocumentCatalog().setAcroForm(acroForm);
+      PDPage page = null;
+      for (int i = 0; i < fieldCount; i++) {
+        if (i % FIELDS_PER_PAGE == 0) {
+          page = new PDPage(PDRectangle.A4);
+          document.addPage(page);
+        }
+        PDTextField field = new PDTextField(acroForm);
+        field.setPartialName("field_" + (i + 1));
+        PDAnnotationWidget widget = field.getWidgets().get(0);
+        widget.setRectangle(new PDRectangle(72, 780 - (i % FIELDS_PER_PAGE) * 30, 300, 20));
+        widget.setPage(page);
+        page.getAnnotations().add(widget);
+        acroForm.getFields().add(field);
+      }
+      return save(document);
+    }
+  }
+
+  public static Map<String, String> createFormData(int fieldCount) {
+    Map<String, String> data = new LinkedHashMap<>();
+    for (int i = 0; i < fieldCount; i++) {
+      data.put("field_" + (i + 1), "Value " + (i + 1));
+    }
+    return data;
+  }
+
+  private static BufferedImage createGradientImage(int width, int height) {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setPaint(new GradientPaint(0, 0, Color.ORANGE, width, height, Color.BLUE));
+    graphics.fillRect(0, 0, width, height);
+    graphics.dispose();
+    return image;
+  }
+
+  private static byte[] save(PDDocument document) throws IOException {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfTextService;
+
+/**
+ * Measures {@link PdfTextService#writeText(PdfSource, int, int, int, Writer)}
+ * with one worker against several workers on separately loaded documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class TextExtractionBenchmark {
+
+  @Param({ "10", "200" })
+  public int pages;
+
+  @Param({ "1", "4" })
+  public int parallelism;
+
+  private PdfSource source;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    source = PdfSource.of(SyntheticPdfs.createDocument(pages));
+  }
+
+  @Benchmark
+  public void writeText() throws IOException {
+    PdfTextService.writeText(source, 0, pages, parallelism, Writer.nullWriter());
+  }
+}
@@ -0,0 +1,75 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.RenderedPage;
+import com.axonivy.utils.pdfbox.model.ThumbnailOptions;
+import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.utils.ImageEncoder;
+
+/**
+ * Compares {@link PdfService#createThumbnail} with rendering the first page at
+ * the default DPI and scaling the image down afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ThumbnailBenchmark {
+
+  @Param({ "100", "200" })
+  public int width;
+
+  private byte[] pdf;
+  private ThumbnailOptions options;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createDocument(1);
+    options = new ThumbnailOptions(width, 0);
+  }
+
+  @Benchmark
+  public RenderedPage createThumbnail() throws IOException {
+    return PdfService.createThumbnail(PdfSource.of(pdf), 0, options);
+  }
+
+  @Benchmark
+  public byte[] renderAndScale() throws IOException {
+    try (PDDocument document = PdfSource.of(pdf).load()) {
+      BufferedImage page = new PDFRenderer(document).renderImageWithDPI(0, ImageEncodingOptions.DEFAULT_DPI,
+          ImageType.RGB);
+      int height = Math.round((float) page.getHeight() * width / page.getWidth());
+      BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+      Graphics2D graphics = thumbnail.createGraphics();
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.drawImage(page, 0, 0, width, height, null);
+      graphics.dispose();
+      return ImageEncoder.encode(thumbnail, options);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.axonivy.utils.pdfbox.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.TileOptions;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+/**
+ * Renders an A0 drawing as tiles with
+ * {@link PdfService#writeTiledImagesFromPdf} and as one image with
+ * {@link PdfService#writeZippedImagesFromPdf}. Run with {@code -prof gc} to
+ * compare the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TiledRenderBenchmark {
+
+  @Param({ "150" })
+  public int dpi;
+
+  @Param({ "1024", "2048" })
+  public int tileSize;
+
+  private byte[] pdf;
+  private TileOptions tileOptions;
+  private ImageEncodingOptions pageOptions;
+
+  @Setup(Level.Trial)
+  public void createPdf() throws IOException {
+    pdf = SyntheticPdfs.createDrawing();
+    tileOptions = new TileOptions("png", dpi);
+    tileOptions.setTileWidth(tileSize);
+    tileOptions.setTileHeight(tileSize);
+    pageOptions = new ImageEncodingOptions("png", dpi);
+  }
+
+  @Benchmark
+  public void renderTiles() throws IOException {
+    PdfService.writeTiledImagesFromPdf(PdfSource.of(pdf), tileOptions, OutputStream.nullOutputStream());
+  }
+
+  @Benchmark
+  public void renderWholePage() throws IOException {
+    PdfService.writeZippedImagesFromPdf(PdfSource.of(pdf), pageOptions, 1, OutputStream.nullOutputStream());
+  }
+}
@@ -3,11 +3,10 @@ package com.axonivy.utils.pdfbox.demo.constants;
 public class PdfBoxConstants {
   public static final String APPLICATION_PDF_MEDIA_TYPE = "application/pdf";
   public static final String APPLICATION_ZIP_MEDIA_TYPE = "application/zip";
+  public static final String PNG_MEDIA_TYPE = "image/png";
+  public static final String TIFF_MEDIA_TYPE = "image/tiff";
   public static final String DEFAULT_ZIP_NAME = "pdf_images.zip";
+  public static final String DEFAULT_TIFF_NAME = "pdf_images.tiff";
   public static final String DATA_FILLED_PREFIX_PATTERN = "filled-%s";
   public static final String FIELD_TYPE_UNKNOWN = "Unknown";
-  public static final String BOOLEAN_VALUE_TRUE = "true";
-  public static final String BOOLEAN_VALUE_FALSE = "false";
-  public static final String BOOLEAN_VALUE_ON = "on";
-  public static final String BOOLEAN_VALUE_OFF = "off";
 }
@@ -1,7 +1,7 @@
 package com.axonivy.utils.pdfbox.demo.enums;
 
 public enum SupportedImageFileExtension {
-  JPG("jpg"), JPEG("jpeg"), PNG("png");
+  JPG("jpg"), JPEG("jpeg"), PNG("png"), TIFF("tiff");
 
   private final String extension;
 
@@ -2,18 +2,21 @@ package com.axonivy.utils.pdfbox.demo.managedBean;
 
 import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.APPLICATION_PDF_MEDIA_TYPE;
 import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.APPLICATION_ZIP_MEDIA_TYPE;
-import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.BOOLEAN_VALUE_FALSE;
-import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.BOOLEAN_VALUE_OFF;
-import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.BOOLEAN_VALUE_ON;
-import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.BOOLEAN_VALUE_TRUE;
 import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.DATA_FILLED_PREFIX_PATTERN;
+import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.DEFAULT_TIFF_NAME;
 import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.DEFAULT_ZIP_NAME;
 import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.FIELD_TYPE_UNKNOWN;
+import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.PNG_MEDIA_TYPE;
+import static com.axonivy.utils.pdfbox.demo.constants.PdfBoxConstants.TIFF_MEDIA_TYPE;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -21,22 +24,33 @@ import java.util.List;
 import java.util.Map;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.faces.bean.ManagedBean;
 import javax.faces.bean.ViewScoped;
 
-import org.apache.pdfbox.Loader;
 import org.apache.pdfbox.cos.COSName;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
-import org.apache.pdfbox.pdmodel.interactive.form.PDField;
 import org.primefaces.event.FileUploadEvent;
 import org.primefaces.model.DefaultStreamedContent;
 import org.primefaces.model.file.UploadedFile;
 
-import com.axonivy.utils.pdfbox.demo.enums.PdfFieldType;
 import com.axonivy.utils.pdfbox.demo.enums.SupportedImageFileExtension;
 import com.axonivy.utils.pdfbox.demo.model.FormFieldData;
-import com.axonivy.utils.pdfbox.demo.utils.PdfFieldOptionExtractor;
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.ConversionJobStatus;
+import com.axonivy.utils.pdfbox.enums.PdfFieldType;
+import com.axonivy.utils.pdfbox.model.CacheStatistics;
+import com.axonivy.utils.pdfbox.model.FormFieldDefinition;
+import com.axonivy.utils.pdfbox.model.FormFieldSchema;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfMetricsSnapshot;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.TiffOptions;
+import com.axonivy.utils.pdfbox.service.ConversionJob;
+import com.axonivy.utils.pdfbox.service.ConversionJobService;
+import com.axonivy.utils.pdfbox.service.FormFieldSchemaService;
+import com.axonivy.utils.pdfbox.service.InMemoryPdfMetrics;
+import com.axonivy.utils.pdfbox.service.PageImageCache;
+import com.axonivy.utils.pdfbox.service.PdfMetrics;
 import com.axonivy.utils.pdfbox.service.PdfService;
 
 import ch.ivyteam.ivy.environment.Ivy;
@@ -52,7 +66,23 @@ public class PdfFactoryBean implements Serializable {
   private Map<String, String> formData;
   private List<FormFieldData> formFieldDataList;
   private static final int DEFAULT_DPI = 150;
+  private static final long PAGE_IMAGE_CACHE_BYTES = 64L * 1024 * 1024;
+  private static final PageImageCache PAGE_IMAGE_CACHE = new PageImageCache(PAGE_IMAGE_CACHE_BYTES);
+  private static final int PREVIEW_DPI = 36;
+  private static final ConversionJobService CONVERSION_JOBS = new ConversionJobService();
+  private static final int FORM_FIELD_SCHEMA_CACHE_SIZE = 32;
+  private static final FormFieldSchemaService FORM_FIELD_SCHEMAS = new FormFieldSchemaService(
+      FORM_FIELD_SCHEMA_CACHE_SIZE);
+  private static final InMemoryPdfMetrics METRICS = new InMemoryPdfMetrics();
   private String uploadedFileName;
+  private byte[] firstPagePreview;
+  private String conversionJobId;
+  private String conversionFileName;
+  private String conversionContentType;
+
+  static {
+    PdfMetrics.setListener(METRICS);
+  }
 
   @PostConstruct
   void init() {
@@ -66,33 +96,107 @@ public class PdfFactoryBean implements Serializable {
     }
   }
 
-  public void convertPdfToOtherDocumentTypes() throws IOException {
+  @PreDestroy
+  void destroy() {
+    if (conversionJobId != null) {
+      CONVERSION_JOBS.removeJob(conversionJobId);
+    }
+  }
+
+  public void convertPdfToOtherDocumentTypes() {
     if (uploadedFile != null) {
+      if (selectedFileExtension == SupportedImageFileExtension.TIFF) {
+        startConversionJob(convertPdfToMultiPageTiff(uploadedFile, DEFAULT_DPI), DEFAULT_TIFF_NAME, TIFF_MEDIA_TYPE);
+        return;
+      }
       String format = selectedFileExtension != null ? selectedFileExtension.getExtension()
           : SupportedImageFileExtension.PNG.getExtension();
-      fileForDownload = convertPdfToImageZip(uploadedFile, format, DEFAULT_DPI);
+      startConversionJob(convertPdfToImageZip(uploadedFile, format, DEFAULT_DPI), DEFAULT_ZIP_NAME,
+          APPLICATION_ZIP_MEDIA_TYPE);
     }
   }
 
   public void handleFileUpload(FileUploadEvent event) {
     uploadedFile = event.getFile();
     uploadedFileName = uploadedFile.getFileName();
+    updateFirstPagePreview();
     updateFormData();
   }
 
-  public void updatePdfFormAndDownload() throws IOException {
+  private void updateFirstPagePreview() {
+    firstPagePreview = null;
+    ImageEncodingOptions options = new ImageEncodingOptions(SupportedImageFileExtension.PNG.getExtension(),
+        PREVIEW_DPI);
+    try {
+      firstPagePreview = PdfService.renderPage(PdfSource.of(uploadedFile.getContent()), 0, options).getContent();
+    } catch (IOException | IllegalArgumentException e) {
+      Ivy.log().warn("Can not render preview of the first page", e);
+    }
+  }
+
+  public void updatePdfFormAndDownload() {
     validateUpload();
     syncFormData();
     if (formData.isEmpty()) {
       throw new IllegalStateException("Form data is empty");
     }
-    try (PDDocument document = loadDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-      PdfService.fillAcroForm(document, formData);
-      document.save(baos);
-      byte[] pdfBytes = baos.toByteArray();
-      fileForDownload = DefaultStreamedContent.builder()
-          .name(String.format(DATA_FILLED_PREFIX_PATTERN, uploadedFile.getFileName()))
-          .contentType(APPLICATION_PDF_MEDIA_TYPE).stream(() -> new ByteArrayInputStream(pdfBytes)).build();
+    PdfSource source = PdfSource.of(uploadedFile.getContent());
+    Map<String, String> fieldValues = getFormFieldSchema(source).toFieldValues(formData);
+    ConversionJob<byte[]> job = CONVERSION_JOBS.submitFillAcroForm(source, fieldValues,
+        AcroFormFillMode.NEED_APPEARANCES);
+    startConversionJob(job, String.format(DATA_FILLED_PREFIX_PATTERN, uploadedFile.getFileName()),
+        APPLICATION_PDF_MEDIA_TYPE);
+  }
+
+  private void startConversionJob(ConversionJob<?> job, String fileName, String contentType) {
+    if (conversionJobId != null) {
+      CONVERSION_JOBS.removeJob(conversionJobId);
+    }
+    conversionJobId = job.getId();
+    conversionFileName = fileName;
+    conversionContentType = contentType;
+    fileForDownload = null;
+  }
+
+  public void cancelConversion() {
+    ConversionJob<?> job = getConversionJob();
+    if (job != null) {
+      job.cancel();
+    }
+  }
+
+  /**
+   * Prepares the download of the finished job. The job, and with it a result
+   * stored in a temporary file, is removed once the download is sent.
+   */
+  public void downloadConversionResult() {
+    ConversionJob<?> job = getConversionJob();
+    if (job == null || job.getStatus() != ConversionJobStatus.COMPLETED) {
+      throw new IllegalStateException("No finished conversion to download");
+    }
+    String jobId = conversionJobId;
+    fileForDownload = DefaultStreamedContent.builder().name(conversionFileName).contentType(conversionContentType)
+        .stream(() -> openConversionResult(job, jobId)).build();
+    conversionJobId = null;
+  }
+
+  private static InputStream openConversionResult(ConversionJob<?> job, String jobId) {
+    try {
+      Object result = job.getResult();
+      InputStream content = result instanceof Path file ? Files.newInputStream(file)
+          : new ByteArrayInputStream((byte[]) result);
+      return new FilterInputStream(content) {
+        @Override
+        public void close() throws IOException {
+          try {
+            super.close();
+          } finally {
+            CONVERSION_JOBS.removeJob(jobId);
+          }
+        }
+      };
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
   }
 
@@ -102,91 +206,72 @@ public class PdfFactoryBean implements Serializable {
     if (uploadedFile == null) {
       return;
     }
-    try (PDDocument document = loadDocument()) {
-      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
-      if (acroForm != null) {
-        for (PDField field : acroForm.getFields()) {
-          String fieldType = field.getFieldType();
-          int fieldFlags = field.getFieldFlags();
-          String fieldTypeLabel = getFieldTypeLabel(fieldType, fieldFlags);
-          String originalFieldName = field.getFullyQualifiedName();
-          String cleanedFieldName = cleanFieldName(field.getPartialName());
-          String fieldValue = field.getValueAsString();
-          formData.put(originalFieldName, fieldValue);
-          FormFieldData fieldData = new FormFieldData(cleanedFieldName, originalFieldName, fieldValue, fieldType,
-              fieldTypeLabel, fieldFlags);
-          if (PdfFieldType.CHOICE.getCode().equals(fieldType)) {
-            List<String> options = PdfFieldOptionExtractor.extractOptions(field);
-            for (String option : options) {
-              fieldData.addDropdownOption(option);
-            }
-          }
-          if (PdfFieldType.BUTTON.getCode().equals(fieldType) && fieldData.isCheckbox()) {
-            String exportValue = COSName.YES.getName();
-            fieldData.setCheckboxExportValue(exportValue);
-          }
-          formFieldDataList.add(fieldData);
+    try {
+      FormFieldSchema schema = FORM_FIELD_SCHEMAS.getSchema(PdfSource.of(uploadedFile.getContent()));
+      for (FormFieldDefinition field : schema.getTerminalFields()) {
+        String fieldType = field.getFieldTypeCode();
+        int fieldFlags = field.getFieldFlags();
+        String originalFieldName = field.getFullyQualifiedName();
+        formData.put(originalFieldName, field.getValue());
+        FormFieldData fieldData = new FormFieldData(field.getDisplayName(), originalFieldName, field.getValue(),
+            fieldType, getFieldTypeLabel(field.getFieldType(), fieldFlags), fieldFlags);
+        fieldData.setDropdownOptions(new ArrayList<>(field.getOptions()));
+        if (fieldData.isRadioButton()) {
+          fieldData.setDropdownOptions(new ArrayList<>(field.getOnValues()));
+        }
+        if (fieldData.isCheckbox()) {
+          fieldData.setCheckboxExportValue(
+              field.getOnValues().isEmpty() ? COSName.YES.getName() : field.getOnValues().get(0));
         }
+        formFieldDataList.add(fieldData);
       }
     } catch (IOException e) {
       Ivy.log().error("Error reading form fields", e);
     }
   }
 
-  private String getFieldTypeLabel(String fieldType, int fieldFlags) {
-    PdfFieldType type = PdfFieldType.fromCode(fieldType);
-    if (type == null) {
-      return FIELD_TYPE_UNKNOWN;
+  /**
+   * The schema is cached by content, so the form is only parsed on its first
+   * upload.
+   */
+  private FormFieldSchema getFormFieldSchema(PdfSource source) {
+    try {
+      return FORM_FIELD_SCHEMAS.getSchema(source);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    return type.getLabel(fieldFlags);
   }
 
-  private String cleanFieldName(String fieldName) {
-    if (fieldName == null || fieldName.isEmpty()) {
-      return fieldName;
+  private String getFieldTypeLabel(PdfFieldType type, int fieldFlags) {
+    if (type == null) {
+      return FIELD_TYPE_UNKNOWN;
     }
-    String cleaned = fieldName.replaceAll(
-        "\\s+(Text Box|Text Field|Checkbox|Check Box|Radio Button|Dropdown|List Box|Signature|Sig)\\s*$", "").trim();
-    return cleaned;
+    return type.getLabel(fieldFlags);
   }
 
   private void syncFormData() {
     for (FormFieldData fieldData : formFieldDataList) {
-      String value = fieldData.getFieldValue();
-      if (fieldData.isCheckbox()) {
-        String exportValue = fieldData.getCheckboxExportValue();
-        if (exportValue == null) {
-          exportValue = COSName.YES.getName();
-        }
-        if (value == null || value.isEmpty() || BOOLEAN_VALUE_FALSE.equalsIgnoreCase(value)
-            || BOOLEAN_VALUE_OFF.equalsIgnoreCase(value)) {
-          value = COSName.Off.getName();
-        } else if (BOOLEAN_VALUE_TRUE.equalsIgnoreCase(value) || BOOLEAN_VALUE_ON.equalsIgnoreCase(value)) {
-          value = exportValue;
-        } else if (value.equalsIgnoreCase(exportValue)) {
-          value = exportValue;
-        } else {
-          value = COSName.Off.getName().equalsIgnoreCase(value) ? COSName.Off.getName() : exportValue;
-        }
-      }
-      formData.put(fieldData.getOriginalFieldName(), value);
+      formData.put(fieldData.getOriginalFieldName(), fieldData.getFieldValue());
     }
   }
 
-  public DefaultStreamedContent convertPdfToImageZip(UploadedFile file, String imageFormat, int dpi)
-      throws IOException {
+  public ConversionJob<Path> convertPdfToImageZip(UploadedFile file, String imageFormat, int dpi) {
     if (file == null) {
       throw new IllegalArgumentException("Uploaded file cannot be null");
     }
-    return DefaultStreamedContent.builder().name(DEFAULT_ZIP_NAME).contentType(APPLICATION_ZIP_MEDIA_TYPE)
-        .stream(() -> new ByteArrayInputStream(
-            PdfService.createZippedImagesFromPdf(uploadedFile.getContent(), imageFormat, dpi)))
-        .build();
+    return CONVERSION_JOBS.submitZippedImages(PdfSource.of(file.getContent()),
+        new ImageEncodingOptions(imageFormat, dpi), PAGE_IMAGE_CACHE);
   }
 
-  private PDDocument loadDocument() throws IOException {
-    validateUpload();
-    return Loader.loadPDF(uploadedFile.getContent());
+  /**
+   * Bilevel CCITT G4 pages keep scanned looking documents small, e.g. for fax
+   * or archive upload.
+   */
+  public ConversionJob<Path> convertPdfToMultiPageTiff(UploadedFile file, int dpi) {
+    if (file == null) {
+      throw new IllegalArgumentException("Uploaded file cannot be null");
+    }
+    return CONVERSION_JOBS.submitMultiPageTiff(PdfSource.of(file.getContent()), TiffOptions.bilevel(dpi));
   }
 
   private void validateUpload() {
@@ -195,6 +280,32 @@ public class PdfFactoryBean implements Serializable {
     }
   }
 
+  public DefaultStreamedContent getFirstPagePreview() {
+    if (firstPagePreview == null) {
+      return null;
+    }
+    byte[] preview = firstPagePreview;
+    return DefaultStreamedContent.builder().contentType(PNG_MEDIA_TYPE)
+        .stream(() -> new ByteArrayInputStream(preview)).build();
+  }
+
+  public ConversionJob<?> getConversionJob() {
+    return conversionJobId == null ? null : CONVERSION_JOBS.getJob(conversionJobId);
+  }
+
+  public boolean isConversionRunning() {
+    ConversionJob<?> job = getConversionJob();
+    return job != null && !job.isDone();
+  }
+
+  public CacheStatistics getPageImageCacheStatistics() {
+    return PAGE_IMAGE_CACHE.getStatistics();
+  }
+
+  public PdfMetricsSnapshot getMetrics() {
+    return METRICS.snapshot();
+  }
+
   public List<SupportedImageFileExtension> getSupportedImageFileExtensions() {
     return supportedImageFileExtensions;
   }
@@ -0,0 +1,91 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.axonivy.utils.pdfbox.model.AcroFormTemplate;
+import com.axonivy.utils.pdfbox.service.AcroFormBatchService;
+
+public class AcroFormBatchServiceTest {
+
+  @Test
+  public void testCompileTemplate() throws IOException {
+    AcroFormTemplate template = AcroFormTemplate.compile(createTemplate("firstName", "lastName"));
+    assertEquals(List.of("firstName", "lastName"), template.getFieldNames());
+    assertTrue(template.hasField("lastName"));
+    assertFalse(template.hasField("unknown"));
+  }
+
+  @Test
+  public void testFillAllInParallel() throws IOException {
+    AcroFormTemplate template = AcroFormTemplate.compile(createTemplate("firstName", "lastName"));
+    List<Map<String, String>> records = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      Map<String, String> data = new HashMap<>();
+      data.put("firstName", "First " + i);
+      data.put("lastName", "Last " + i);
+      data.put("unknown", "ignored");
+      records.add(data);
+    }
+
+    List<byte[]> filled = AcroFormBatchService.fillAll(template, records, 4);
+    assertEquals(records.size(), filled.size());
+    for (int i = 0; i < filled.size(); i++) {
+      try (PDDocument document = Loader.loadPDF(filled.get(i))) {
+        PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+        assertEquals("First " + i, acroForm.getField("firstName").getValueAsString());
+        assertEquals("Last " + i, acroForm.getField("lastName").getValueAsString());
+        assertNull(acroForm.getField("unknown"));
+      }
+    }
+  }
+
+  @Test
+  public void testFillAllToDirectory(@TempDir Path tempDir) throws IOException {
+    AcroFormTemplate template = AcroFormTemplate.compile(createTemplate("firstName"));
+    List<Map<String, String>> records = List.of(Map.of("firstName", "John"), Map.of("firstName", "Jane"));
+
+    AcroFormBatchService.fillAll(template, records.iterator(), 2,
+        AcroFormBatchService.FilledDocumentSink.toDirectory(tempDir, "filled_%03d.pdf"));
+    try (PDDocument document = Loader.loadPDF(Files.readAllBytes(tempDir.resolve("filled_002.pdf")))) {
+      assertEquals("Jane", document.getDocumentCatalog().getAcroForm().getField("firstName").getValueAsString());
+    }
+  }
+
+  private byte[] createTemplate(String... fieldNames) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDPage page = new PDPage(PDRectangle.A4);
+      document.addPage(page);
+      PDAcroForm acroForm = new PDAcroForm(document);
+      acroForm.setDefaultAppearance("/Helv 0 Tf 0 g");
+      document.getDocumentCatalog().setAcroForm(acroForm);
+      for (String fieldName : fieldNames) {
+        PDTextField textField = new PDTextField(acroForm);
+        textField.setPartialName(fieldName);
+        acroForm.getFields().add(textField);
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
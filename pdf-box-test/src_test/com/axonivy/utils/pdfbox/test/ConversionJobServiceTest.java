@@ -0,0 +1,170 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipInputStream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.enums.ConversionJobStatus;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.ConversionJob;
+import com.axonivy.utils.pdfbox.service.ConversionJobService;
+
+public class ConversionJobServiceTest {
+
+  @Test
+  public void testZippedImagesJobReportsProgress() throws IOException {
+    try (ConversionJobService service = new ConversionJobService(2)) {
+      ConversionJob<Path> job = service.submitZippedImages(PdfSource.of(createPdf(3)),
+          new ImageEncodingOptions("png", 36), null);
+      Path zip = job.await();
+      assertEquals(ConversionJobStatus.COMPLETED, job.getStatus());
+      assertEquals(3, job.getPageCount());
+      assertEquals(3, job.getCompletedPages());
+      assertEquals(100, job.getProgress());
+      assertSame(zip, job.getResult());
+      assertSame(job, service.getJob(job.getId()));
+      assertEquals(3, countZipEntries(zip));
+
+      service.removeJob(job.getId());
+      assertNull(service.getJob(job.getId()));
+      assertFalse(Files.exists(zip));
+    }
+  }
+
+  @Test
+  public void testFinishedJobsExpire() throws Exception {
+    try (ConversionJobService service = new ConversionJobService(1, Duration.ofMillis(50))) {
+      ConversionJob<Path> job = service.submitZippedImages(PdfSource.of(createPdf(1)),
+          new ImageEncodingOptions("png", 36), null);
+      Path zip = job.await();
+      assertTrue(Files.exists(zip));
+      Thread.sleep(100);
+      assertNull(service.getJob(job.getId()));
+      assertFalse(Files.exists(zip));
+    }
+  }
+
+  @Test
+  public void testJobFailsOnError() throws Exception {
+    try (ConversionJobService service = new ConversionJobService(1)) {
+      ConversionJob<String> job = service.submit(listener -> {
+        throw new StackOverflowError("too deep");
+      });
+      assertTrue(job.await(10, TimeUnit.SECONDS));
+      assertEquals(ConversionJobStatus.FAILED, job.getStatus());
+      assertThrows(StackOverflowError.class, job::await);
+      assertEquals("finished", service.submit(listener -> "finished").await());
+    }
+  }
+
+  @Test
+  public void testConcurrencyIsLimitedAndQueuedJobCanBeCancelled() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    try (ConversionJobService service = new ConversionJobService(1)) {
+      ConversionJob<String> blocking = service.submit(listener -> {
+        started.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return "done";
+      });
+      ConversionJob<String> queued = service.submit(listener -> "never");
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+      assertEquals(ConversionJobStatus.RUNNING, blocking.getStatus());
+      assertEquals(ConversionJobStatus.QUEUED, queued.getStatus());
+      assertThrows(IllegalStateException.class, queued::getResult);
+
+      assertTrue(queued.cancel());
+      assertTrue(queued.await(10, TimeUnit.SECONDS));
+      assertEquals(ConversionJobStatus.CANCELLED, queued.getStatus());
+      assertThrows(CancellationException.class, queued::getResult);
+
+      release.countDown();
+      assertEquals("done", blocking.await());
+      assertFalse(blocking.cancel());
+    }
+  }
+
+  @Test
+  public void testRunningJobStopsAtNextPage() throws Exception {
+    CountDownLatch firstPage = new CountDownLatch(1);
+    CountDownLatch cancelled = new CountDownLatch(1);
+    try (ConversionJobService service = new ConversionJobService(1)) {
+      ConversionJob<Integer> job = service.submit(listener -> {
+        for (int page = 0; page < 10; page++) {
+          listener.onProgress(page, 10);
+          if (page == 1) {
+            firstPage.countDown();
+            try {
+              cancelled.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        }
+        return 10;
+      });
+      assertTrue(firstPage.await(10, TimeUnit.SECONDS));
+      assertEquals(10, job.getProgress());
+      job.cancel();
+      cancelled.countDown();
+      assertTrue(job.await(10, TimeUnit.SECONDS));
+      assertEquals(ConversionJobStatus.CANCELLED, job.getStatus());
+      assertEquals(2, job.getCompletedPages());
+    }
+  }
+
+  @Test
+  public void testFailedJobRethrowsError() throws InterruptedException {
+    try (ConversionJobService service = new ConversionJobService()) {
+      ConversionJob<Path> job = service.submitZippedImages(PdfSource.of(new byte[] { 1, 2, 3 }),
+          new ImageEncodingOptions(), null);
+      assertTrue(job.await(10, TimeUnit.SECONDS));
+      assertEquals(ConversionJobStatus.FAILED, job.getStatus());
+      assertThrows(IOException.class, job::getResult);
+    }
+  }
+
+  private static byte[] createPdf(int pages) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      for (int i = 0; i < pages; i++) {
+        document.addPage(new PDPage(PDRectangle.A4));
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  private static int countZipEntries(Path zip) throws IOException {
+    int count = 0;
+    try (InputStream input = Files.newInputStream(zip); ZipInputStream zis = new ZipInputStream(input)) {
+      while (zis.getNextEntry() != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
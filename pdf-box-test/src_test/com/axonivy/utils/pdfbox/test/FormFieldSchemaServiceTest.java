@@ -0,0 +1,170 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceDictionary;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceEntry;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDCheckBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDComboBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDRadioButton;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.PdfFieldType;
+import com.axonivy.utils.pdfbox.model.FormFieldDefinition;
+import com.axonivy.utils.pdfbox.model.FormFieldSchema;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.FormFieldSchemaService;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+public class FormFieldSchemaServiceTest {
+
+  @Test
+  public void testSchemaContainsNestedFields() throws IOException {
+    FormFieldSchema schema = new FormFieldSchemaService(4).getSchema(PdfSource.of(createNestedForm()));
+    assertEquals(6, schema.getFieldCount());
+    assertEquals(List.of("address.street Text Box", "address.city", "agree", "country", "plan"),
+        schema.getTerminalFields().stream().map(FormFieldDefinition::getFullyQualifiedName).toList());
+
+    FormFieldDefinition address = schema.getField("address");
+    assertFalse(address.isTerminal());
+    assertNull(address.getParentName());
+    assertEquals(List.of("address.street Text Box", "address.city"), address.getChildNames());
+
+    FormFieldDefinition street = schema.getField("address.street Text Box");
+    assertEquals("street", street.getDisplayName());
+    assertEquals("address", street.getParentName());
+    assertEquals(PdfFieldType.TEXT, street.getFieldType());
+    assertEquals("Main Street", street.getValue());
+
+    FormFieldDefinition agree = schema.getField("agree");
+    assertEquals(PdfFieldType.BUTTON, agree.getFieldType());
+    assertEquals(List.of("Agree"), agree.getOnValues());
+    assertEquals("Checkbox", agree.getFieldType().getLabel(agree.getFieldFlags()));
+
+    FormFieldDefinition country = schema.getField("country");
+    assertEquals(List.of("CH", "DE", "VN"), country.getOptions());
+    assertEquals("Dropdown", country.getFieldType().getLabel(country.getFieldFlags()));
+  }
+
+  @Test
+  public void testButtonValuesAreMappedToOnValues() throws IOException {
+    byte[] pdf = createNestedForm();
+    FormFieldSchema schema = new FormFieldSchemaService(4).getSchema(PdfSource.of(pdf));
+    FormFieldDefinition agree = schema.getField("agree");
+    assertEquals("Agree", agree.toFieldValue("true"));
+    assertEquals("Agree", agree.toFieldValue("ON"));
+    assertEquals("Agree", agree.toFieldValue("agree"));
+    assertEquals("Off", agree.toFieldValue("False"));
+    assertEquals("Off", agree.toFieldValue(null));
+    FormFieldDefinition plan = schema.getField("plan");
+    assertEquals(List.of("Monthly", "Yearly"), plan.getOnValues().stream().sorted().toList());
+    assertEquals("Yearly", plan.toFieldValue("yearly"));
+    assertEquals("Off", plan.toFieldValue(""));
+    assertEquals("street", schema.getField("address.city").toFieldValue("street"));
+
+    Map<String, String> data = Map.of("agree", "yes", "plan", "MONTHLY", "address.city", "Basel", "unknown", "x");
+    assertEquals(Map.of("agree", "Agree", "plan", "Monthly", "address.city", "Basel"), schema.toFieldValues(data));
+    try (PDDocument document = Loader.loadPDF(pdf)) {
+      PdfService.fillAcroForm(document, schema, data, AcroFormFillMode.GENERATE_APPEARANCES);
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      assertEquals("Agree", acroForm.getField("agree").getValueAsString());
+      assertEquals("Monthly", acroForm.getField("plan").getValueAsString());
+      assertEquals("Basel", acroForm.getField("address.city").getValueAsString());
+    }
+  }
+
+  @Test
+  public void testSchemaIsServedFromCache() throws IOException {
+    byte[] pdf = createNestedForm();
+    FormFieldSchemaService service = new FormFieldSchemaService(4);
+    FormFieldSchema first = service.getSchema(PdfSource.of(pdf));
+    FormFieldSchema second = service.getSchema(PdfSource.of(pdf.clone()));
+    assertSame(first, second);
+    assertEquals(1, service.getHits());
+    assertEquals(1, service.getMisses());
+    assertTrue(first.hasField("country"));
+  }
+
+  private static byte[] createNestedForm() throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDPage page = new PDPage(PDRectangle.A4);
+      document.addPage(page);
+      PDAcroForm acroForm = new PDAcroForm(document);
+      document.getDocumentCatalog().setAcroForm(acroForm);
+
+      PDNonTerminalField address = new PDNonTerminalField(acroForm);
+      address.setPartialName("address");
+      PDTextField street = new PDTextField(acroForm);
+      street.setPartialName("street Text Box");
+      street.getCOSObject().setString(COSName.V, "Main Street");
+      PDTextField city = new PDTextField(acroForm);
+      city.setPartialName("city");
+      List<PDField> children = List.of(street, city);
+      for (PDField child : children) {
+        child.getCOSObject().setItem(COSName.PARENT, address);
+      }
+      address.setChildren(children);
+
+      PDCheckBox agree = new PDCheckBox(acroForm);
+      agree.setPartialName("agree");
+      PDAnnotationWidget widget = agree.getWidgets().get(0);
+      widget.setAppearance(createOnOffAppearance(document, "Agree"));
+      widget.setPage(page);
+      page.getAnnotations().add(widget);
+
+      PDComboBox country = new PDComboBox(acroForm);
+      country.setPartialName("country");
+      country.setOptions(List.of("CH", "DE", "VN"));
+
+      PDRadioButton plan = new PDRadioButton(acroForm);
+      plan.setPartialName("plan");
+      List<PDAnnotationWidget> planWidgets = new ArrayList<>();
+      for (String onValue : List.of("Monthly", "Yearly")) {
+        PDAnnotationWidget planWidget = new PDAnnotationWidget();
+        planWidget.setRectangle(new PDRectangle(50, 600 - planWidgets.size() * 30, 20, 20));
+        planWidget.setAppearance(createOnOffAppearance(document, onValue));
+        planWidget.setParent(plan);
+        planWidget.setPage(page);
+        page.getAnnotations().add(planWidget);
+        planWidgets.add(planWidget);
+      }
+      plan.setWidgets(planWidgets);
+
+      acroForm.getFields().addAll(List.of(address, agree, country, plan));
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  private static PDAppearanceDictionary createOnOffAppearance(PDDocument document, String onValue) {
+    COSDictionary normalAppearance = new COSDictionary();
+    normalAppearance.setItem(COSName.getPDFName(onValue), new PDAppearanceStream(document));
+    normalAppearance.setItem(COSName.Off, new PDAppearanceStream(document));
+    PDAppearanceDictionary appearance = new PDAppearanceDictionary();
+    appearance.setNormalAppearance(new PDAppearanceEntry(normalAppearance));
+    return appearance;
+  }
+}
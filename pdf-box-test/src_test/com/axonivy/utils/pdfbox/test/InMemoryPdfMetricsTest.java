@@ -0,0 +1,105 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfMetricsSnapshot;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.TimerSnapshot;
+import com.axonivy.utils.pdfbox.service.InMemoryPdfMetrics;
+import com.axonivy.utils.pdfbox.service.PdfMetrics;
+import com.axonivy.utils.pdfbox.service.PdfMetricsListener;
+import com.axonivy.utils.pdfbox.service.PdfPipeline;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+public class InMemoryPdfMetricsTest {
+  private static final String OPERATION = "writeZippedImagesFromPdf";
+
+  private final InMemoryPdfMetrics metrics = new InMemoryPdfMetrics();
+
+  @BeforeEach
+  public void registerMetrics() {
+    PdfMetrics.setListener(metrics);
+  }
+
+  @AfterEach
+  public void unregisterMetrics() {
+    PdfMetrics.setListener(PdfMetricsListener.NONE);
+  }
+
+  @Test
+  public void testRecordsZippedImages() throws IOException {
+    byte[] pdf = createPdf(3);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(PdfSource.of(pdf), new ImageEncodingOptions("png", 72), 1, output);
+
+    PdfMetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(1, snapshot.getOperation(OPERATION).getCount());
+    assertEquals(1, snapshot.getPhase(OPERATION, PdfPhase.PARSE).getCount());
+    assertEquals(3, snapshot.getPhase(OPERATION, PdfPhase.RENDER).getCount());
+    assertEquals(3, snapshot.getPhase(OPERATION, PdfPhase.ENCODE).getCount());
+    assertEquals(3, snapshot.getPages());
+    assertTrue(snapshot.getPagesPerSecond() > 0);
+    assertEquals(pdf.length, snapshot.getBytesIn());
+    assertEquals(output.size(), snapshot.getBytesOut());
+    assertEquals(595, snapshot.getPeakImageWidth());
+    assertEquals(841, snapshot.getPeakImageHeight());
+
+    TimerSnapshot render = snapshot.getPhase(OPERATION, PdfPhase.RENDER);
+    assertTrue(render.getMinNanos() <= render.getP50Nanos());
+    assertTrue(render.getP50Nanos() <= render.getP99Nanos());
+    assertTrue(render.getP99Nanos() <= render.getMaxNanos());
+  }
+
+  @Test
+  public void testCountsFailures() {
+    byte[] broken = "not a pdf".getBytes();
+    assertEquals(0, PdfService.createZippedImagesFromPdf(broken, "png", 72).length);
+    assertThrows(IOException.class, () -> PdfService.writeZippedImagesFromPdf(PdfSource.of(broken),
+        new ImageEncodingOptions("png", 72), 1, OutputStream.nullOutputStream()));
+
+    PdfMetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(2, snapshot.getFailures().get(OPERATION));
+    assertNull(snapshot.getOperation(OPERATION));
+
+    metrics.reset();
+    assertEquals(0, metrics.snapshot().getFailureCount());
+  }
+
+  @Test
+  public void testCountsErrorsAsFailures() throws IOException {
+    PdfSource source = PdfSource.of(createPdf(1));
+    assertThrows(StackOverflowError.class, () -> new PdfPipeline().readFormValues(values -> {
+      throw new StackOverflowError("too deep");
+    }).run(source));
+
+    PdfMetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(1, snapshot.getFailures().get("pipeline"));
+    assertNull(snapshot.getOperation("pipeline"));
+  }
+
+  private static byte[] createPdf(int pages) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      for (int i = 0; i < pages; i++) {
+        document.addPage(new PDPage(PDRectangle.A4));
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
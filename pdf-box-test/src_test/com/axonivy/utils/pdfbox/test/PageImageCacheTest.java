@@ -0,0 +1,136 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.axonivy.utils.pdfbox.model.CacheStatistics;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PageImageCache;
+import com.axonivy.utils.pdfbox.service.PdfService;
+
+public class PageImageCacheTest {
+
+  @Test
+  public void testRepeatedExportIsServedFromCache() throws IOException {
+    byte[] pdfBytes = createPdf(3);
+    PageImageCache cache = new PageImageCache(10 * 1024 * 1024);
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 72);
+
+    byte[] first = export(pdfBytes, options, cache);
+    CacheStatistics afterFirst = cache.getStatistics();
+    assertEquals(0, afterFirst.getHits());
+    assertEquals(3, afterFirst.getMemoryEntries());
+
+    byte[] second = export(pdfBytes, options, cache);
+    CacheStatistics afterSecond = cache.getStatistics();
+    assertEquals(3, afterSecond.getMemoryHits());
+    assertEquals(afterFirst.getMisses(), afterSecond.getMisses());
+    assertEquals(first.length, second.length);
+
+    export(pdfBytes, new ImageEncodingOptions("png", 100), cache);
+    assertEquals(6, cache.getStatistics().getMemoryEntries());
+  }
+
+  @Test
+  public void testMemoryTierEvictsLeastRecentlyUsed() {
+    PageImageCache cache = new PageImageCache(10);
+    cache.put("a", new byte[4]);
+    cache.put("b", new byte[4]);
+    assertNotNull(cache.get("a"));
+    cache.put("c", new byte[4]);
+    assertNull(cache.get("b"));
+    assertNotNull(cache.get("a"));
+    assertNotNull(cache.get("c"));
+    assertEquals(1, cache.getStatistics().getEvictions());
+    assertEquals(8, cache.getStatistics().getMemoryBytes());
+  }
+
+  @Test
+  public void testDiskTierOutlivesMemoryTier(@TempDir Path tempDir) throws IOException {
+    PageImageCache cache = new PageImageCache(1024, tempDir, 1024);
+    cache.put("page", new byte[] { 1, 2, 3 });
+
+    PageImageCache reopened = new PageImageCache(1024, tempDir, 1024);
+    assertEquals(3, reopened.getStatistics().getDiskBytes());
+    assertArrayEquals(new byte[] { 1, 2, 3 }, reopened.get("page"));
+    assertEquals(1, reopened.getStatistics().getDiskHits());
+    assertNotNull(reopened.get("page"));
+    assertEquals(1, reopened.getStatistics().getMemoryHits());
+
+    reopened.put("other", new byte[1024]);
+    assertTrue(reopened.getStatistics().getDiskBytes() <= 1024);
+  }
+
+  @Test
+  public void testPageCountsShareDiskLimit(@TempDir Path tempDir) throws IOException {
+    Files.write(tempDir.resolve("interrupted.img123.tmp"), new byte[] { 1 });
+    PageImageCache cache = new PageImageCache(1024, tempDir, 16);
+    assertFalse(Files.exists(tempDir.resolve("interrupted.img123.tmp")));
+    for (int i = 0; i < 100; i++) {
+      cache.putPageCount("document" + i, 12);
+    }
+    assertTrue(cache.getStatistics().getDiskBytes() <= 16);
+    try (Stream<Path> files = Files.list(tempDir)) {
+      assertTrue(files.count() <= 8);
+    }
+  }
+
+  @Test
+  public void testDiskTierServesExportAfterRestart(@TempDir Path tempDir) throws IOException {
+    byte[] pdfBytes = createPdf(3);
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 72);
+    byte[] first = export(pdfBytes, options, new PageImageCache(0, tempDir, 10 * 1024 * 1024));
+
+    PageImageCache reopened = new PageImageCache(0, tempDir, 10 * 1024 * 1024);
+    assertEquals(3, reopened.getPageCount(PdfSource.of(pdfBytes).getContentHash()));
+    assertArrayEquals(first, export(pdfBytes, options, reopened));
+    assertEquals(3, reopened.getStatistics().getDiskHits());
+    assertEquals(0, reopened.getStatistics().getMisses());
+
+    Files.delete(tempDir.resolve(PageImageCache.createKey(PdfSource.of(pdfBytes).getContentHash(), 1, options)
+        + ".img"));
+    PageImageCache partial = new PageImageCache(0, tempDir, 10 * 1024 * 1024);
+    assertArrayEquals(first, export(pdfBytes, options, partial));
+    assertEquals(2, partial.getStatistics().getDiskHits());
+    assertEquals(1, partial.getStatistics().getMisses());
+  }
+
+  private byte[] export(byte[] pdfBytes, ImageEncodingOptions options, PageImageCache cache) throws IOException {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(PdfSource.of(pdfBytes), options, 1, cache, baos);
+    return baos.toByteArray();
+  }
+
+  private byte[] createPdf(int pageCount) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      for (int i = 0; i < pageCount; i++) {
+        PDPage page = new PDPage(PDRectangle.A6);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.addRect(10 + i * 10, 10, 50, 50);
+          content.fill();
+        }
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
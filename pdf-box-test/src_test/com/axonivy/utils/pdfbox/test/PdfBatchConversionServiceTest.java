@@ -0,0 +1,149 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.axonivy.utils.pdfbox.model.BatchConversionOptions;
+import com.axonivy.utils.pdfbox.model.BatchConversionReport;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PageFailure;
+import com.axonivy.utils.pdfbox.service.PdfBatchConversionService;
+import com.axonivy.utils.pdfbox.service.RenderingGovernor;
+
+public class PdfBatchConversionServiceTest {
+
+  @Test
+  public void testConvertDirectoryIsolatesFailures(@TempDir Path tempDir) throws IOException {
+    Path input = Files.createDirectories(tempDir.resolve("in/2024"));
+    Files.write(input.resolveSibling("first.pdf"), createPdf(3));
+    Files.write(input.resolve("second.pdf"), createPdf(2));
+    Files.write(input.resolve("broken.pdf"), "not a pdf".getBytes());
+    Path output = tempDir.resolve("out");
+
+    BatchConversionOptions options = new BatchConversionOptions(new ImageEncodingOptions("png", 36));
+    options.setRenderThreads(2);
+    options.setEncodeThreads(2);
+    options.setQueueCapacity(1);
+    BatchConversionReport report = PdfBatchConversionService.convertDirectory(tempDir.resolve("in"), output,
+        options);
+
+    assertEquals(3, report.getDocuments());
+    assertEquals(2, report.getSucceeded());
+    assertEquals(5, report.getPages());
+    assertTrue(report.getFailures().containsKey(input.resolve("broken.pdf").toString()));
+    assertEquals(List.of("page_001.png", "page_002.png", "page_003.png"),
+        readEntryNames(output.resolve("first.zip")));
+    assertEquals(List.of("page_001.png", "page_002.png"), readEntryNames(output.resolve("2024/second.zip")));
+    assertFalse(Files.exists(output.resolve("2024/broken.zip")));
+    try (Stream<Path> files = Files.walk(output)) {
+      assertTrue(files.noneMatch(file -> file.toString().endsWith(".part")));
+    }
+    String reportText = Files.readString(output.resolve(PdfBatchConversionService.REPORT_FILE_NAME));
+    assertTrue(reportText.contains("succeeded=2, failed=1"));
+    assertTrue(reportText.contains("FAILED " + input.resolve("broken.pdf")));
+  }
+
+  @Test
+  public void testConvertSkipsFailedPages(@TempDir Path tempDir) throws IOException {
+    Path input = tempDir.resolve("mixed.pdf");
+    Files.write(input, createPdf(PDRectangle.A6, PDRectangle.A0, PDRectangle.A6));
+    ImageEncodingOptions encoding = new ImageEncodingOptions("png", 36);
+    BatchConversionOptions options = new BatchConversionOptions(encoding);
+    options.setSkipFailedPages(true);
+    RenderingGovernor previous = RenderingGovernor.getGlobal();
+    try {
+      RenderingGovernor.setGlobal(new RenderingGovernor(
+          RenderingGovernor.estimateBytesForDpi(PDRectangle.A4, 36, encoding.getImageType()), Duration.ZERO));
+      BatchConversionReport report = PdfBatchConversionService.convert(List.of(input).iterator(),
+          tempDir.resolve("out"), options);
+
+      assertEquals(1, report.getSucceeded());
+      assertEquals(2, report.getPages());
+      List<PageFailure> skipped = report.getPageFailures().get(input.toString());
+      assertEquals(1, skipped.size());
+      assertEquals(1, skipped.get(0).getPageIndex());
+      assertEquals(List.of("page_001.png", "page_003.png"), readEntryNames(tempDir.resolve("out/mixed.zip")));
+    } finally {
+      RenderingGovernor.setGlobal(previous);
+    }
+  }
+
+  @Test
+  public void testConvertStopsWhenAWorkerDies(@TempDir Path tempDir) throws IOException {
+    Files.createDirectories(tempDir.resolve("in"));
+    for (int i = 0; i < 4; i++) {
+      Files.write(tempDir.resolve("in/doc" + i + ".pdf"), createPdf(3));
+    }
+    ImageEncodingOptions encoding = new ImageEncodingOptions("png", 36) {
+      @Override
+      public int getPngCompressionLevel() {
+        throw new StackOverflowError("encoder died");
+      }
+    };
+    BatchConversionOptions options = new BatchConversionOptions(encoding);
+    options.setRenderThreads(2);
+    options.setEncodeThreads(1);
+    options.setQueueCapacity(1);
+    RenderingGovernor previous = RenderingGovernor.getGlobal();
+    RenderingGovernor governor = new RenderingGovernor(64L * 1024 * 1024, Duration.ofSeconds(10));
+    try {
+      RenderingGovernor.setGlobal(governor);
+      assertTimeoutPreemptively(Duration.ofSeconds(30), () -> assertThrows(StackOverflowError.class,
+          () -> PdfBatchConversionService.convertDirectory(tempDir.resolve("in"), tempDir.resolve("out"), options)));
+      assertEquals(governor.getBudgetBytes(), governor.getAvailableBytes());
+    } finally {
+      RenderingGovernor.setGlobal(previous);
+    }
+    try (Stream<Path> files = Files.walk(tempDir.resolve("out"))) {
+      assertTrue(files.noneMatch(file -> file.toString().endsWith(".part")));
+    }
+  }
+
+  private static List<String> readEntryNames(Path zip) throws IOException {
+    List<String> names = new ArrayList<>();
+    try (ZipInputStream zis = new ZipInputStream(Files.newInputStream(zip))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        names.add(entry.getName());
+      }
+    }
+    return names;
+  }
+
+  private static byte[] createPdf(int pages) throws IOException {
+    PDRectangle[] sizes = new PDRectangle[pages];
+    Arrays.fill(sizes, PDRectangle.A6);
+    return createPdf(sizes);
+  }
+
+  private static byte[] createPdf(PDRectangle... sizes) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      for (PDRectangle size : sizes) {
+        document.addPage(new PDPage(size));
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
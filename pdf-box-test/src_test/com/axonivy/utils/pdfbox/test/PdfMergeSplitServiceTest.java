@@ -0,0 +1,138 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfMergeSplitService;
+
+public class PdfMergeSplitServiceTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testMergeKeepsOrder() throws IOException {
+    List<Path> files = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Path file = tempDir.resolve("doc" + i + ".pdf");
+      Files.write(file, createPdf("Document " + i, 2));
+      files.add(file);
+    }
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PdfMergeSplitService.merge(files.stream().map(PdfSource::of).iterator(), output,
+        MemoryUsageSetting.setupTempFileOnly());
+    try (PDDocument merged = Loader.loadPDF(output.toByteArray())) {
+      assertEquals(6, merged.getNumberOfPages());
+      String text = new PDFTextStripper().getText(merged);
+      assertTrue(text.indexOf("Document 0") < text.indexOf("Document 1"));
+      assertTrue(text.indexOf("Document 1") < text.indexOf("Document 2"));
+    }
+  }
+
+  @Test
+  public void testMergeKeepsFormFieldsApart() throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PdfMergeSplitService.merge(List.of(PdfSource.of(createForm("Jane")), PdfSource.of(createForm("John")),
+        PdfSource.of(createPdf("Cover", 1))), output);
+    try (PDDocument merged = Loader.loadPDF(output.toByteArray())) {
+      PDAcroForm acroForm = merged.getDocumentCatalog().getAcroForm();
+      assertEquals(2, acroForm.getFields().size());
+      assertEquals("Jane", acroForm.getField("name").getValueAsString());
+      assertEquals("John", acroForm.getField("name_2").getValueAsString());
+      assertEquals(merged.getPage(1), acroForm.getField("name_2").getWidgets().get(0).getPage());
+    }
+  }
+
+  @Test
+  public void testSplitIntoChunks() throws IOException {
+    PdfSource source = PdfSource.of(createPdf("Scan", 7));
+    List<Integer> pageCounts = new ArrayList<>();
+    PdfMergeSplitService.split(source, 3, (chunkIndex, chunk) -> {
+      assertEquals(pageCounts.size(), chunkIndex);
+      pageCounts.add(chunk.getNumberOfPages());
+    });
+    assertEquals(List.of(3, 3, 1), pageCounts);
+
+    PdfMergeSplitService.split(source, List.of(0, 1, 5), PdfMergeSplitService.ChunkSink.toDirectory(tempDir,
+        "letter_%d.pdf"), MemoryUsageSetting.setupTempFileOnly());
+    assertEquals(List.of(1, 4, 2), IntStream.rangeClosed(1, 3).mapToObj(i -> {
+      try (PDDocument chunk = Loader.loadPDF(tempDir.resolve("letter_" + i + ".pdf").toFile())) {
+        return chunk.getNumberOfPages();
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }).toList());
+
+    assertThrows(IllegalArgumentException.class, () -> PdfMergeSplitService.split(source, List.of(3, 2),
+        (chunkIndex, chunk) -> {}, MemoryUsageSetting.setupMainMemoryOnly()));
+  }
+
+  private static byte[] createForm(String name) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDPage page = new PDPage(PDRectangle.A4);
+      document.addPage(page);
+      PDAcroForm acroForm = new PDAcroForm(document);
+      PDResources resources = new PDResources();
+      resources.put(COSName.HELV, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+      acroForm.setDefaultResources(resources);
+      acroForm.setDefaultAppearance("/Helv 0 Tf 0 g");
+      document.getDocumentCatalog().setAcroForm(acroForm);
+      PDTextField textField = new PDTextField(acroForm);
+      textField.setPartialName("name");
+      PDAnnotationWidget widget = textField.getWidgets().get(0);
+      widget.setRectangle(new PDRectangle(50, 700, 200, 20));
+      widget.setPage(page);
+      page.getAnnotations().add(widget);
+      acroForm.getFields().add(textField);
+      textField.setValue(name);
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  private static byte[] createPdf(String text, int pages) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (int i = 0; i < pages; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.beginText();
+          content.setFont(font, 12);
+          content.newLineAtOffset(50, 700);
+          content.showText(text + " page " + (i + 1));
+          content.endText();
+        }
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfMetricsSnapshot;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.InMemoryPdfMetrics;
+import com.axonivy.utils.pdfbox.service.PdfMetrics;
+import com.axonivy.utils.pdfbox.service.PdfMetricsListener;
+import com.axonivy.utils.pdfbox.service.PdfPipeline;
+
+public class PdfPipelineTest {
+
+  @Test
+  public void testRunsAllStagesOnOneLoad() throws IOException {
+    // a source wrapping an opened reader can only be loaded once
+    PdfSource source = PdfSource.of(new RandomAccessReadBuffer(createForm(3)));
+    List<Map<String, String>> formValues = new ArrayList<>();
+    List<String> events = new ArrayList<>();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    new PdfPipeline()
+        .readFormValues(formValues::add)
+        .fillAcroForm(Map.of("name", "Jane"), AcroFormFillMode.GENERATE_APPEARANCES)
+        .readFormValues(formValues::add)
+        .renderPages(new ImageEncodingOptions("png", 36), page -> events.add("image " + page.getPageIndex()))
+        .extractText((pageIndex, text) -> events.add("text " + pageIndex))
+        .save(output)
+        .run(source);
+
+    assertEquals("", formValues.get(0).get("name"));
+    assertEquals("Jane", formValues.get(1).get("name"));
+    assertEquals(List.of("image 0", "text 0", "image 1", "text 1", "image 2", "text 2"), events);
+    try (PDDocument saved = Loader.loadPDF(output.toByteArray())) {
+      assertEquals("Jane", saved.getDocumentCatalog().getAcroForm().getField("name").getValueAsString());
+    }
+  }
+
+  @Test
+  public void testRecordsFillOnlyAsPartOfThePipeline() throws IOException {
+    InMemoryPdfMetrics metrics = new InMemoryPdfMetrics();
+    PdfMetrics.setListener(metrics);
+    try {
+      new PdfPipeline()
+          .fillAcroForm(Map.of("name", "Jane"), AcroFormFillMode.NEED_APPEARANCES)
+          .save(OutputStream.nullOutputStream())
+          .run(PdfSource.of(createForm(1)));
+    } finally {
+      PdfMetrics.setListener(PdfMetricsListener.NONE);
+    }
+
+    PdfMetricsSnapshot snapshot = metrics.snapshot();
+    assertEquals(Set.of("pipeline"), snapshot.getOperations().keySet());
+    assertEquals(1, snapshot.getPhase("pipeline", PdfPhase.FILL).getCount());
+  }
+
+  private static byte[] createForm(int pages) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (int i = 0; i < pages; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.beginText();
+          content.setFont(font, 12);
+          content.newLineAtOffset(50, 750);
+          content.showText("Page " + (i + 1));
+          content.endText();
+        }
+      }
+      PDAcroForm acroForm = new PDAcroForm(document);
+      PDResources resources = new PDResources();
+      resources.put(COSName.HELV, font);
+      acroForm.setDefaultResources(resources);
+      acroForm.setDefaultAppearance("/Helv 0 Tf 0 g");
+      document.getDocumentCatalog().setAcroForm(acroForm);
+      PDTextField textField = new PDTextField(acroForm);
+      textField.setPartialName("name");
+      PDAnnotationWidget widget = textField.getWidgets().get(0);
+      widget.setRectangle(new PDRectangle(50, 700, 200, 20));
+      widget.setPage(document.getPage(0));
+      document.getPage(0).getAnnotations().add(widget);
+      acroForm.getFields().add(textField);
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
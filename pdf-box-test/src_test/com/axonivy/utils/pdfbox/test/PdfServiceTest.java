@@ -1,28 +1,75 @@
 package com.axonivy.utils.pdfbox.test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.AccessPermission;
+import org.apache.pdfbox.pdmodel.encryption.StandardProtectionPolicy;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import org.apache.pdfbox.pdmodel.interactive.form.PDTextField;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.PdfErrorType;
+import com.axonivy.utils.pdfbox.enums.TiffCompression;
+import com.axonivy.utils.pdfbox.enums.ZipEntryMethod;
+import com.axonivy.utils.pdfbox.model.ConversionResult;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.PixelBufferOptions;
+import com.axonivy.utils.pdfbox.model.RenderedPage;
+import com.axonivy.utils.pdfbox.model.ThumbnailOptions;
+import com.axonivy.utils.pdfbox.model.TileOptions;
+import com.axonivy.utils.pdfbox.model.TiffOptions;
 import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.service.RenderingGovernor;
 
 public class PdfServiceTest {
 
@@ -44,6 +91,134 @@ public class PdfServiceTest {
     verifyZipContents(result, 1, "png");
   }
 
+  @Test
+  public void testWriteZippedImagesFromPdf() throws IOException {
+    byte[] pdfBytes = loadDemoPdf();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(pdfBytes, "png", 150, baos);
+    assertNotEquals(0, baos.size());
+    verifyZipContents(baos.toByteArray(), 1, "png");
+
+    ByteArrayOutputStream channelOutput = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(pdfBytes, "jpg", 72, Channels.newChannel(channelOutput));
+    assertNotEquals(0, channelOutput.size());
+    verifyZipContents(channelOutput.toByteArray(), 1, "jpg");
+  }
+
+  @Test
+  public void testParallelRenderingMatchesSequential() throws IOException {
+    byte[] pdfBytes = createMultiPagePdf(7);
+    byte[] sequential = PdfService.createZippedImagesFromPdf(pdfBytes, "png", 72);
+    byte[] parallel = PdfService.createZippedImagesFromPdf(pdfBytes, "png", 72, 4);
+    verifyZipContents(parallel, 7, "png");
+    assertZipEntriesEqual(readZipEntries(sequential), readZipEntries(parallel));
+  }
+
+  @Test
+  public void testWriteZippedImagesFromFileSources(@TempDir Path tempDir) throws IOException {
+    byte[] pdfBytes = createMultiPagePdf(3);
+    Path pdfFile = Files.write(tempDir.resolve("multi-page.pdf"), pdfBytes);
+    Map<String, byte[]> expected = readZipEntries(PdfService.createZippedImagesFromPdf(pdfBytes, "png", 72));
+
+    ByteArrayOutputStream fromPath = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(pdfFile, "png", 72, fromPath);
+    assertZipEntriesEqual(expected, readZipEntries(fromPath.toByteArray()));
+
+    ByteArrayOutputStream fromFile = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(pdfFile.toFile(), "png", 72, fromFile);
+    assertZipEntriesEqual(expected, readZipEntries(fromFile.toByteArray()));
+
+    ByteArrayOutputStream fromMappedFile = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(PdfSource.memoryMapped(pdfFile), "png", 72, 2, fromMappedFile);
+    assertZipEntriesEqual(expected, readZipEntries(fromMappedFile.toByteArray()));
+
+    ByteArrayOutputStream fromReader = new ByteArrayOutputStream();
+    PdfService.writeZippedImagesFromPdf(new RandomAccessReadBufferedFile(pdfFile), "png", 72, fromReader);
+    assertZipEntriesEqual(expected, readZipEntries(fromReader.toByteArray()));
+  }
+
+  @Test
+  public void testWriteMultiPageTiff(@TempDir Path tempDir) throws IOException {
+    PdfSource source = PdfSource.of(createMultiPagePdf(3));
+    ByteArrayOutputStream bilevel = new ByteArrayOutputStream();
+    PdfService.writeMultiPageTiff(source, TiffOptions.bilevel(72), bilevel);
+    assertTiffPages(bilevel.toByteArray(), 3, 595, 841);
+
+    Path grayFile = tempDir.resolve("gray.tiff");
+    PdfService.writeMultiPageTiff(source, TiffOptions.gray(36), grayFile);
+    assertTiffPages(Files.readAllBytes(grayFile), 3, 297, 420);
+
+    TiffOptions grayG4 = new TiffOptions(72, ImageType.GRAY, TiffCompression.CCITT_T6);
+    assertThrows(IllegalArgumentException.class,
+        () -> PdfService.writeMultiPageTiff(source, grayG4, new ByteArrayOutputStream()));
+  }
+
+  @Test
+  public void testCreateZippedImagesWithEncodingOptions() throws IOException {
+    byte[] pdfBytes = createMultiPagePdf(2);
+    ImageEncodingOptions options = new ImageEncodingOptions("jpg", 72);
+    options.setImageType(ImageType.GRAY);
+    options.setJpegQuality(0.5f);
+    options.setZipEntryMethod(ZipEntryMethod.AUTO);
+    byte[] result = PdfService.createZippedImagesFromPdf(pdfBytes, options);
+    verifyZipContents(result, 2, "jpg");
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(result))) {
+      ZipEntry entry = zis.getNextEntry();
+      assertEquals(ZipEntry.STORED, entry.getMethod());
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(zis.readAllBytes()));
+      assertEquals(1, image.getColorModel().getNumComponents());
+    }
+
+    ImageEncodingOptions smallPng = new ImageEncodingOptions("png", 72);
+    smallPng.setPngCompressionLevel(9);
+    ImageEncodingOptions fastPng = new ImageEncodingOptions("png", 72);
+    fastPng.setPngCompressionLevel(0);
+    fastPng.setZipEntryMethod(ZipEntryMethod.STORED);
+    assertTrue(PdfService.createZippedImagesFromPdf(pdfBytes, smallPng).length < PdfService
+        .createZippedImagesFromPdf(pdfBytes, fastPng).length);
+  }
+
+  @Test
+  public void testRenderSinglePageAndRanges() throws IOException {
+    PdfSource source = PdfSource.of(createMultiPagePdf(5));
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 72);
+
+    RenderedPage firstPage = PdfService.renderPage(source, 0, options);
+    assertEquals("page_001.png", firstPage.getFileName());
+    assertEquals(595, firstPage.getWidth());
+    BufferedImage image = ImageIO.read(new ByteArrayInputStream(firstPage.getContent()));
+    assertEquals(firstPage.getHeight(), image.getHeight());
+
+    try (Stream<RenderedPage> pages = PdfService.renderPageRange(source, options, 1, 4)) {
+      assertEquals(List.of("page_002.png", "page_003.png", "page_004.png"),
+          pages.map(RenderedPage::getFileName).toList());
+    }
+    try (Stream<RenderedPage> pages = PdfService.renderPages(source, options, List.of(4, 2))) {
+      assertEquals(4, pages.findFirst().orElseThrow().getPageIndex());
+    }
+    assertThrows(IllegalArgumentException.class, () -> PdfService.renderPage(source, 5, options));
+  }
+
+  @Test
+  public void testCreateThumbnail() throws IOException {
+    PdfSource source = PdfSource.of(createMultiPagePdf(2));
+    RenderedPage thumbnail = PdfService.createThumbnail(source, 1, new ThumbnailOptions(200, 0));
+    assertEquals(200, thumbnail.getWidth());
+    assertEquals(282, thumbnail.getHeight());
+    assertEquals("page_002.png", thumbnail.getFileName());
+
+    ThumbnailOptions boxed = new ThumbnailOptions(200, 100);
+    boxed.setImageFormat("jpg");
+    boxed.setIncludeAnnotations(false);
+    thumbnail = PdfService.createThumbnail(source, 0, boxed);
+    assertEquals(100, thumbnail.getHeight());
+    assertTrue(thumbnail.getWidth() < 200);
+    assertNotNull(ImageIO.read(new ByteArrayInputStream(thumbnail.getContent())));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> PdfService.createThumbnail(source, 0, new ThumbnailOptions(0, 0)));
+  }
+
   @Test
   public void testFillAcroForm() throws IOException {
     PDDocument document = createPdfWithFormFields(new String[] { "firstName", "lastName", "email" });
@@ -77,6 +252,215 @@ public class PdfServiceTest {
     doc2.close();
   }
 
+  @Test
+  public void testFillAcroFormGeneratesAppearances() throws IOException {
+    try (PDDocument document = createPdfWithWidgetFields(new String[] { "firstName", "lastName" })) {
+      PdfService.fillAcroForm(document, Map.of("firstName", "John"), AcroFormFillMode.GENERATE_APPEARANCES);
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      assertFalse(acroForm.getNeedAppearances());
+      assertEquals("John", acroForm.getField("firstName").getValueAsString());
+      assertNotNull(acroForm.getField("firstName").getWidgets().get(0).getAppearance());
+      assertNull(acroForm.getField("lastName").getWidgets().get(0).getAppearance());
+    }
+  }
+
+  @Test
+  public void testFillAcroFormFlattens() throws IOException {
+    try (PDDocument document = createPdfWithWidgetFields(new String[] { "firstName", "lastName" })) {
+      PdfService.fillAcroForm(document, Map.of("firstName", "John", "lastName", "Doe"), AcroFormFillMode.FLATTEN);
+      assertTrue(document.getDocumentCatalog().getAcroForm().getFields().isEmpty());
+      String text = new PDFTextStripper().getText(document);
+      assertTrue(text.contains("John"));
+      assertTrue(text.contains("Doe"));
+    }
+
+    try (PDDocument document = createPdfWithWidgetFields(new String[] { "firstName", "lastName" })) {
+      PdfService.fillAndFlattenAcroForm(document, Map.of("firstName", "John", "lastName", "Doe"),
+          List.of("firstName"));
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      assertNull(acroForm.getField("firstName"));
+      assertEquals("Doe", acroForm.getField("lastName").getValueAsString());
+      assertTrue(new PDFTextStripper().getText(document).contains("John"));
+    }
+  }
+
+  @Test
+  public void testFillAcroFormIncremental() throws IOException {
+    byte[] original;
+    try (PDDocument document = createPdfWithWidgetFields(new String[] { "firstName", "lastName" });
+        ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      document.save(baos);
+      original = baos.toByteArray();
+    }
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (PDDocument document = Loader.loadPDF(original)) {
+      PdfService.fillAcroFormIncremental(document, Map.of("firstName", "John"),
+          AcroFormFillMode.GENERATE_APPEARANCES, output);
+    }
+    byte[] updated = output.toByteArray();
+    assertTrue(updated.length > original.length);
+    assertArrayEquals(original, Arrays.copyOf(updated, original.length));
+    try (PDDocument document = Loader.loadPDF(updated)) {
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      assertFalse(acroForm.getNeedAppearances());
+      assertEquals("John", acroForm.getField("firstName").getValueAsString());
+      assertNotNull(acroForm.getField("firstName").getWidgets().get(0).getAppearance().getNormalAppearance());
+      assertEquals("", acroForm.getField("lastName").getValueAsString());
+    }
+
+    try (PDDocument document = Loader.loadPDF(original)) {
+      assertThrows(IllegalArgumentException.class, () -> PdfService.fillAcroFormIncremental(document,
+          Map.of("firstName", "John"), AcroFormFillMode.FLATTEN, new ByteArrayOutputStream()));
+    }
+  }
+
+  @Test
+  public void testConvertToZippedImagesClassifiesFailures() throws IOException {
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 36);
+    ConversionResult malformed = PdfService.convertToZippedImages(PdfSource.of("not a pdf".getBytes()), options,
+        true);
+    assertTrue(malformed.isFailed());
+    assertEquals(PdfErrorType.MALFORMED, malformed.getErrorType());
+    assertFalse(malformed.isRetryable());
+    assertEquals(0, malformed.getContent().length);
+
+    byte[] encrypted;
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      document.addPage(new PDPage(PDRectangle.A6));
+      document.protect(new StandardProtectionPolicy("owner", "user", new AccessPermission()));
+      document.save(baos);
+      encrypted = baos.toByteArray();
+    }
+    ConversionResult locked = PdfService.convertToZippedImages(PdfSource.of(encrypted), options, true);
+    assertEquals(PdfErrorType.ENCRYPTED, locked.getErrorType());
+    assertEquals(-1, locked.getPageCount());
+  }
+
+  @Test
+  public void testConvertToZippedImagesKeepsConvertedPages() throws IOException {
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 36);
+    byte[] pdf = createPdfWithPageSizes(PDRectangle.A6, PDRectangle.A0, PDRectangle.A6);
+    RenderingGovernor previous = RenderingGovernor.getGlobal();
+    try {
+      RenderingGovernor.setGlobal(new RenderingGovernor(
+          RenderingGovernor.estimateBytesForDpi(PDRectangle.A4, 36, options.getImageType()), Duration.ZERO));
+      ConversionResult strict = PdfService.convertToZippedImages(PdfSource.of(pdf), options, false);
+      assertTrue(strict.isPartial());
+      assertEquals(PdfErrorType.PAGE_TOO_LARGE, strict.getErrorType());
+      assertFalse(strict.isRetryable());
+      assertEquals(List.of("page_001.png"), List.copyOf(readZipEntries(strict.getContent()).keySet()));
+
+      ConversionResult lenient = PdfService.convertToZippedImages(PdfSource.of(pdf), options, true);
+      assertFalse(lenient.isFailed());
+      assertEquals(3, lenient.getPageCount());
+      assertEquals(2, lenient.getConvertedPages());
+      assertEquals(1, lenient.getPageFailures().size());
+      assertEquals(1, lenient.getPageFailures().get(0).getPageIndex());
+      assertEquals(List.of("page_001.png", "page_003.png"),
+          List.copyOf(readZipEntries(lenient.getContent()).keySet()));
+    } finally {
+      RenderingGovernor.setGlobal(previous);
+    }
+  }
+
+  @Test
+  public void testConvertToZippedImagesRetriesWhenMemoryIsBusy() throws IOException {
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 36);
+    RenderingGovernor previous = RenderingGovernor.getGlobal();
+    RenderingGovernor governor = new RenderingGovernor(
+        RenderingGovernor.estimateBytesForDpi(PDRectangle.A4, 36, options.getImageType()), Duration.ZERO);
+    try (RenderingGovernor.Reservation busy = governor.reserve(governor.getBudgetBytes())) {
+      RenderingGovernor.setGlobal(governor);
+      ConversionResult result = PdfService.convertToZippedImages(PdfSource.of(createMultiPagePdf(1)), options,
+          false);
+      assertEquals(PdfErrorType.MEMORY_BUDGET_EXCEEDED, result.getErrorType());
+      assertTrue(result.isRetryable());
+    } finally {
+      RenderingGovernor.setGlobal(previous);
+    }
+  }
+
+  @Test
+  public void testRenderPixels() throws IOException {
+    byte[] pdf = createMultiPagePdf(2);
+    BufferedImage expectedGray;
+    BufferedImage expectedRgb;
+    try (PDDocument document = Loader.loadPDF(pdf)) {
+      expectedGray = new PDFRenderer(document).renderImageWithDPI(1, 36, ImageType.GRAY);
+      expectedRgb = new PDFRenderer(document).renderImageWithDPI(1, 36, ImageType.RGB);
+    }
+
+    List<byte[]> grayPages = new ArrayList<>();
+    PdfService.renderPixels(PdfSource.of(pdf), new PixelBufferOptions(36, ImageType.GRAY), page -> {
+      assertEquals(297, page.getWidth());
+      assertEquals(420, page.getHeight());
+      assertEquals(297, page.getStride());
+      byte[] pixels = new byte[page.getPixels().remaining()];
+      page.getPixels().get(pixels);
+      grayPages.add(pixels);
+    });
+    assertEquals(2, grayPages.size());
+    assertArrayEquals(((DataBufferByte) expectedGray.getRaster().getDataBuffer()).getData(), grayPages.get(1));
+
+    PixelBufferOptions rgbOptions = new PixelBufferOptions(36, ImageType.RGB);
+    rgbOptions.setDirectBuffer(true);
+    List<Integer> pageIndexes = new ArrayList<>();
+    PdfService.renderPixels(PdfSource.of(pdf), rgbOptions, page -> {
+      ByteBuffer pixels = page.getPixels();
+      assertTrue(pixels.isDirect());
+      assertEquals(297 * 3, page.getStride());
+      assertEquals(page.getStride() * page.getHeight(), pixels.remaining());
+      if (page.getPageIndex() == 1) {
+        for (int y = 0; y < page.getHeight(); y += 37) {
+          for (int x = 0; x < page.getWidth(); x += 13) {
+            int offset = y * page.getStride() + x * 3;
+            int rgb = (pixels.get(offset) & 0xff) << 16 | (pixels.get(offset + 1) & 0xff) << 8
+                | pixels.get(offset + 2) & 0xff;
+            assertEquals(expectedRgb.getRGB(x, y) & 0xffffff, rgb);
+          }
+        }
+      }
+      pageIndexes.add(page.getPageIndex());
+    });
+    assertEquals(List.of(0, 1), pageIndexes);
+  }
+
+  @Test
+  public void testWriteTiledImagesFromPdf() throws IOException {
+    byte[] pdf = createMultiPagePdf(2);
+    TileOptions options = new TileOptions("png", 72);
+    options.setTileWidth(256);
+    options.setTileHeight(256);
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    PdfService.writeTiledImagesFromPdf(PdfSource.of(pdf), options, output);
+
+    Map<String, byte[]> tiles = readZipEntries(output.toByteArray());
+    assertEquals(2 * 4 * 3, tiles.size());
+    BufferedImage expected;
+    try (PDDocument document = Loader.loadPDF(pdf)) {
+      expected = new PDFRenderer(document).renderImageWithDPI(1, 72, ImageType.RGB);
+    }
+    BufferedImage stitched = new BufferedImage(595, 841, BufferedImage.TYPE_INT_RGB);
+    for (int row = 0; row < 4; row++) {
+      for (int column = 0; column < 3; column++) {
+        BufferedImage tile = ImageIO.read(new ByteArrayInputStream(
+            tiles.get(String.format("page_002_tile_%03d_%03d.png", row + 1, column + 1))));
+        assertEquals(column < 2 ? 256 : 595 - 512, tile.getWidth());
+        assertEquals(row < 3 ? 256 : 841 - 768, tile.getHeight());
+        stitched.getGraphics().drawImage(tile, column * 256, row * 256, null);
+      }
+    }
+    int differentPixels = 0;
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        if (expected.getRGB(x, y) != stitched.getRGB(x, y)) {
+          differentPixels++;
+        }
+      }
+    }
+    assertEquals(0, differentPixels);
+  }
+
   private byte[] loadDemoPdf() throws IOException {
     ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
     try (InputStream is = classLoader.getResourceAsStream("pdfform.pdf")) {
@@ -93,6 +477,69 @@ public class PdfServiceTest {
     }
   }
 
+  private byte[] createMultiPagePdf(int pageCount) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (int i = 0; i < pageCount; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.addRect(50, 50 + i * 20, 200, 100);
+          content.fill();
+          content.beginText();
+          content.setFont(font, 24);
+          content.newLineAtOffset(72, 700);
+          content.showText("Page " + (i + 1));
+          content.endText();
+        }
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  private static byte[] createPdfWithPageSizes(PDRectangle... sizes) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      for (PDRectangle size : sizes) {
+        document.addPage(new PDPage(size));
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+
+  private void assertZipEntriesEqual(Map<String, byte[]> expected, Map<String, byte[]> actual) {
+    assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+    for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+      assertArrayEquals(entry.getValue(), actual.get(entry.getKey()), entry.getKey());
+    }
+  }
+
+  private Map<String, byte[]> readZipEntries(byte[] zipBytes) throws IOException {
+    Map<String, byte[]> entries = new LinkedHashMap<>();
+    try (ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes))) {
+      ZipEntry entry;
+      while ((entry = zis.getNextEntry()) != null) {
+        entries.put(entry.getName(), zis.readAllBytes());
+      }
+    }
+    return entries;
+  }
+
+  private static void assertTiffPages(byte[] tiff, int pageCount, int width, int height) throws IOException {
+    ImageReader reader = ImageIO.getImageReadersByFormatName("tiff").next();
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(tiff))) {
+      reader.setInput(input);
+      assertEquals(pageCount, reader.getNumImages(true));
+      for (int i = 0; i < pageCount; i++) {
+        assertEquals(width, reader.getWidth(i));
+        assertEquals(height, reader.getHeight(i));
+      }
+    } finally {
+      reader.dispose();
+    }
+  }
+
   private PDDocument createPdfWithFormFields(String[] fieldNames) throws IOException {
     PDDocument document = new PDDocument();
     PDPage page = new PDPage(PDRectangle.A4);
@@ -107,6 +554,28 @@ public class PdfServiceTest {
     return document;
   }
 
+  private PDDocument createPdfWithWidgetFields(String[] fieldNames) throws IOException {
+    PDDocument document = new PDDocument();
+    PDPage page = new PDPage(PDRectangle.A4);
+    document.addPage(page);
+    PDAcroForm acroForm = new PDAcroForm(document);
+    PDResources resources = new PDResources();
+    resources.put(COSName.HELV, new PDType1Font(Standard14Fonts.FontName.HELVETICA));
+    acroForm.setDefaultResources(resources);
+    acroForm.setDefaultAppearance("/Helv 12 Tf 0 g");
+    document.getDocumentCatalog().setAcroForm(acroForm);
+    for (int i = 0; i < fieldNames.length; i++) {
+      PDTextField textField = new PDTextField(acroForm);
+      textField.setPartialName(fieldNames[i]);
+      PDAnnotationWidget widget = textField.getWidgets().get(0);
+      widget.setRectangle(new PDRectangle(50, 700 - i * 40, 200, 20));
+      widget.setPage(page);
+      page.getAnnotations().add(widget);
+      acroForm.getFields().add(textField);
+    }
+    return document;
+  }
+
   private void verifyZipContents(byte[] zipBytes, int expectedPageCount, String format) throws IOException {
     ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(zipBytes));
     int fileCount = 0;
@@ -0,0 +1,73 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfTextService;
+
+public class PdfTextServiceTest {
+
+  @Test
+  public void testExtractText() throws IOException {
+    String text = PdfTextService.extractText(PdfSource.of(createPdf(3)));
+    assertTrue(text.contains("Text of page 1"));
+    assertTrue(text.indexOf("Text of page 2") < text.indexOf("Text of page 3"));
+  }
+
+  @Test
+  public void testExtractPageTextsInParallelKeepsOrder() throws IOException {
+    PdfSource source = PdfSource.of(createPdf(40));
+    List<Integer> pageIndexes = new ArrayList<>();
+    PdfTextService.extractPageTexts(source, 5, 40, 4, (pageIndex, text) -> {
+      assertEquals("Text of page " + (pageIndex + 1), text.strip());
+      pageIndexes.add(pageIndex);
+    });
+    assertEquals(35, pageIndexes.size());
+    assertEquals(5, pageIndexes.get(0));
+    assertEquals(39, pageIndexes.get(34));
+
+    StringWriter sequential = new StringWriter();
+    StringWriter parallel = new StringWriter();
+    PdfTextService.writeText(source, 5, 40, 1, sequential);
+    PdfTextService.writeText(source, 5, 40, 4, parallel);
+    assertEquals(sequential.toString(), parallel.toString());
+
+    assertThrows(IllegalArgumentException.class,
+        () -> PdfTextService.extractPageTexts(source, 10, 41, 4, (pageIndex, text) -> {}));
+  }
+
+  private static byte[] createPdf(int pages) throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDType1Font font = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+      for (int i = 0; i < pages; i++) {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+          content.beginText();
+          content.setFont(font, 12);
+          content.newLineAtOffset(50, 700);
+          content.showText("Text of page " + (i + 1));
+          content.endText();
+        }
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
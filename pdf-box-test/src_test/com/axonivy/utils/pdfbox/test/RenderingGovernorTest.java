@@ -0,0 +1,90 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.service.RenderingGovernor;
+import com.axonivy.utils.pdfbox.service.RenderingGovernor.RenderingBudgetExceededException;
+
+public class RenderingGovernorTest {
+
+  @Test
+  public void testEstimateBytes() {
+    assertEquals(2480L * 3507 * 4, RenderingGovernor.estimateBytesForDpi(PDRectangle.A4, 300, ImageType.RGB));
+    assertEquals(2480L * 3507, RenderingGovernor.estimateBytesForDpi(PDRectangle.A4, 300, ImageType.GRAY));
+    assertEquals(612L * 792 * 3, RenderingGovernor.estimateBytes(PDRectangle.LETTER, 1, ImageType.BGR));
+  }
+
+  @Test
+  public void testReservationWaitsForRelease() throws Exception {
+    RenderingGovernor governor = new RenderingGovernor(10 * 1024, Duration.ofSeconds(10));
+    RenderingGovernor.Reservation first = governor.reserve(8 * 1024);
+    assertEquals(2 * 1024, governor.getAvailableBytes());
+
+    CompletableFuture<RenderingGovernor.Reservation> second = CompletableFuture.supplyAsync(() -> {
+      try {
+        return governor.reserve(4 * 1024);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    while (governor.getWaitingCount() == 0) {
+      Thread.sleep(10);
+    }
+    first.close();
+    first.close();
+    second.get(10, TimeUnit.SECONDS).close();
+    assertEquals(10 * 1024, governor.getAvailableBytes());
+  }
+
+  @Test
+  public void testRequestsBeyondBudgetAreRejected() throws IOException {
+    RenderingGovernor governor = new RenderingGovernor(10 * 1024, Duration.ZERO);
+    assertThrows(RenderingBudgetExceededException.class, () -> governor.reserve(11 * 1024));
+    try (RenderingGovernor.Reservation reservation = governor.reserve(6 * 1024)) {
+      assertThrows(RenderingBudgetExceededException.class, () -> governor.reserve(6 * 1024));
+    }
+  }
+
+  @Test
+  public void testPdfServiceUsesGlobalBudget() throws IOException {
+    RenderingGovernor previous = RenderingGovernor.getGlobal();
+    RenderingGovernor.setGlobal(new RenderingGovernor(1024 * 1024, Duration.ZERO));
+    try {
+      PdfSource source = PdfSource.of(createPdf());
+      assertEquals(0, PdfService.renderPage(source, 0, new ImageEncodingOptions("png", 36)).getPageIndex());
+      RenderingBudgetExceededException exception = assertThrows(RenderingBudgetExceededException.class,
+          () -> PdfService.writeZippedImagesFromPdf(source, new ImageEncodingOptions("png", 300), 2, null,
+              new ByteArrayOutputStream()));
+      assertTrue(exception.getMessage().contains("rendering budget"));
+      assertEquals(1024 * 1024, RenderingGovernor.getGlobal().getAvailableBytes());
+    } finally {
+      RenderingGovernor.setGlobal(previous);
+    }
+  }
+
+  private static byte[] createPdf() throws IOException {
+    try (PDDocument document = new PDDocument(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      document.addPage(new PDPage(PDRectangle.A4));
+      document.addPage(new PDPage(PDRectangle.A4));
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.axonivy.utils.pdfbox.test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import com.axonivy.utils.pdfbox.model.CacheStatistics;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.service.PdfService;
+import com.axonivy.utils.pdfbox.service.PdfTextService;
+import com.axonivy.utils.pdfbox.service.SharedResourceCache;
+
+public class SharedResourceCacheTest {
+  private static final String FONT_RESOURCE = "/org/apache/pdfbox/resources/ttf/LiberationSans-Regular.ttf";
+
+  @Test
+  public void testFontsAreSharedAcrossDocuments() throws IOException {
+    byte[] pdf = createPdfWithEmbeddedFont("Same template");
+    ImageEncodingOptions options = new ImageEncodingOptions("png", 72);
+    SharedResourceCache previous = SharedResourceCache.getGlobal();
+    try {
+      SharedResourceCache.setGlobal(new SharedResourceCache(0));
+      byte[] unshared = PdfService.renderPage(PdfSource.of(pdf), 0, options).getContent();
+
+      SharedResourceCache cache = new SharedResourceCache(SharedResourceCache.DEFAULT_MAX_BYTES);
+      SharedResourceCache.setGlobal(cache);
+      PdfService.renderPage(PdfSource.of(pdf), 0, options);
+      byte[] shared = PdfService.renderPage(PdfSource.of(pdf.clone()), 0, options).getContent();
+      String text = PdfTextService.extractText(PdfSource.of(pdf));
+
+      assertArrayEquals(unshared, shared);
+      assertEquals("Same template", text.strip());
+      CacheStatistics statistics = cache.getStatistics();
+      assertEquals(1, statistics.getMisses());
+      assertEquals(2, statistics.getHits());
+      assertEquals(1, statistics.getMemoryEntries());
+    } finally {
+      SharedResourceCache.setGlobal(previous);
+    }
+  }
+
+  @Test
+  public void testOpenDocumentsGetTheirOwnFonts() throws IOException {
+    byte[] pdf = createPdfWithEmbeddedFont("Concurrent");
+    SharedResourceCache cache = new SharedResourceCache(SharedResourceCache.DEFAULT_MAX_BYTES);
+    try (PDDocument first = cache.attach(Loader.loadPDF(pdf)); PDDocument second = cache.attach(Loader.loadPDF(pdf))) {
+      new PDFRenderer(first).renderImage(0);
+      new PDFRenderer(second).renderImage(0);
+      assertEquals(2, cache.getStatistics().getMisses());
+      assertEquals(2, cache.getStatistics().getMemoryEntries());
+    }
+    try (PDDocument third = cache.attach(Loader.loadPDF(pdf))) {
+      assertEquals("Concurrent", new PDFTextStripper().getText(third).strip());
+      assertEquals(1, cache.getStatistics().getHits());
+    }
+  }
+
+  @Test
+  public void testFontsLargerThanTheCacheAreNotKept() throws IOException {
+    SharedResourceCache cache = new SharedResourceCache(1);
+    try (PDDocument document = cache.attach(Loader.loadPDF(createPdfWithEmbeddedFont("Too large")))) {
+      new PDFRenderer(document).renderImage(0);
+    }
+    assertEquals(0, cache.getStatistics().getMemoryEntries());
+  }
+
+  private static byte[] createPdfWithEmbeddedFont(String text) throws IOException {
+    try (PDDocument document = new PDDocument(); InputStream fontData = PDDocument.class.getResourceAsStream(
+        FONT_RESOURCE); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      PDType0Font font = PDType0Font.load(document, fontData);
+      PDPage page = new PDPage(PDRectangle.A6);
+      document.addPage(page);
+      try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+        content.beginText();
+        content.setFont(font, 12);
+        content.newLineAtOffset(20, 300);
+        content.showText(text);
+        content.endText();
+      }
+      document.save(baos);
+      return baos.toByteArray();
+    }
+  }
+}
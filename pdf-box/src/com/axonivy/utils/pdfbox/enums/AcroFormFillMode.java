@@ -0,0 +1,10 @@
+package com.axonivy.utils.pdfbox.enums;
+
+public enum AcroFormFillMode {
+  /** Sets the values and asks every viewer to rebuild all appearances. */
+  NEED_APPEARANCES,
+  /** Uses the appearance streams built on the server for the changed fields. */
+  GENERATE_APPEARANCES,
+  /** Builds the appearance streams and merges the fields into the page content. */
+  FLATTEN
+}
@@ -0,0 +1,14 @@
+package com.axonivy.utils.pdfbox.enums;
+
+public enum ConversionJobStatus {
+  /** Submitted and waiting for a free conversion slot. */
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  FAILED,
+  CANCELLED;
+
+  public boolean isDone() {
+    return this == COMPLETED || this == FAILED || this == CANCELLED;
+  }
+}
@@ -0,0 +1,31 @@
+package com.axonivy.utils.pdfbox.enums;
+
+public enum PdfErrorType {
+  /** The document is encrypted and can not be opened without its password. */
+  ENCRYPTED(false),
+  /** The file is no readable PDF or the content of a page is broken. */
+  MALFORMED(false),
+  /** The page needs more memory than the whole rendering budget. */
+  PAGE_TOO_LARGE(false),
+  /** The page waited too long for memory other conversions were using. */
+  MEMORY_BUDGET_EXCEEDED(true),
+  /**
+   * Reading the file or writing the result failed, e.g. because the file is
+   * missing or locked or the disk is full.
+   */
+  IO_ERROR(true);
+
+  private final boolean retryable;
+
+  private PdfErrorType(boolean retryable) {
+    this.retryable = retryable;
+  }
+
+  /**
+   * Whether converting the same document again may succeed. Encrypted and
+   * malformed documents and too large pages fail the same way every time.
+   */
+  public boolean isRetryable() {
+    return retryable;
+  }
+}
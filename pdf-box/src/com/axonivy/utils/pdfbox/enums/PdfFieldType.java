@@ -1,4 +1,4 @@
-package com.axonivy.utils.pdfbox.demo.enums;
+package com.axonivy.utils.pdfbox.enums;
 
 public enum PdfFieldType {
   TEXT("Tx", "Text Field"), CHOICE("Ch", "Choice Field"), BUTTON("Btn", "Button"), SIGNATURE("Sig", "Signature");
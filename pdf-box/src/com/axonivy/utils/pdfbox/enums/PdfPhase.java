@@ -0,0 +1,16 @@
+package com.axonivy.utils.pdfbox.enums;
+
+public enum PdfPhase {
+  /** Loading the document, i.e. reading the cross reference table and trailer. */
+  PARSE,
+  RENDER,
+  /**
+   * Encoding a page image, or copying its raw pixels. Pages that are encoded
+   * straight into their ZIP entry include the time of writing the entry.
+   */
+  ENCODE,
+  ZIP,
+  FILL,
+  TEXT,
+  SAVE;
+}
@@ -0,0 +1,28 @@
+package com.axonivy.utils.pdfbox.enums;
+
+public enum TiffCompression {
+  /** CCITT Group 4 fax compression, only for bilevel pages. */
+  CCITT_T6("CCITT T.6"),
+  LZW("LZW"),
+  DEFLATE("Deflate"),
+  PACKBITS("PackBits"),
+  NONE(null);
+
+  private final String compressionType;
+
+  private TiffCompression(String compressionType) {
+    this.compressionType = compressionType;
+  }
+
+  /**
+   * Name of the compression type of the ImageIO TIFF writer, null for
+   * uncompressed pages.
+   */
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public boolean isBilevelOnly() {
+    return this == CCITT_T6;
+  }
+}
@@ -0,0 +1,22 @@
+package com.axonivy.utils.pdfbox.enums;
+
+import java.util.Set;
+
+public enum ZipEntryMethod {
+  /** Deflates every entry, even if the image format is compressed already. */
+  DEFLATED,
+  /** Stores every entry as it is. */
+  STORED,
+  /** Stores formats that are compressed already and deflates all others. */
+  AUTO;
+
+  private static final Set<String> COMPRESSED_FORMATS = Set.of("png", "jpg", "jpeg", "gif", "webp");
+
+  public boolean isStored(String imageFormat) {
+    return switch (this) {
+    case STORED -> true;
+    case AUTO -> imageFormat != null && COMPRESSED_FORMATS.contains(imageFormat.toLowerCase());
+    default -> false;
+    };
+  }
+}
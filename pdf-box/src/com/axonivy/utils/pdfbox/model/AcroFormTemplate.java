@@ -0,0 +1,65 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+
+/**
+ * Holds the bytes and the field schema of a form template that is filled many
+ * times. The schema is built once, so values of unknown fields are dropped and
+ * check box values are translated without looking at the form again. Every
+ * fill still parses a fresh copy of the template, because PDFBox can not
+ * clone a loaded document.
+ */
+public class AcroFormTemplate {
+  private final byte[] templateBytes;
+  private final FormFieldSchema schema;
+
+  private AcroFormTemplate(byte[] templateBytes, FormFieldSchema schema) {
+    this.templateBytes = templateBytes;
+    this.schema = schema;
+  }
+
+  public static AcroFormTemplate compile(byte[] templateBytes) throws IOException {
+    byte[] bytes = templateBytes.clone();
+    try (PDDocument document = Loader.loadPDF(bytes)) {
+      return new AcroFormTemplate(bytes, FormFieldSchema.of(document, PdfSource.of(bytes).getContentHash()));
+    }
+  }
+
+  /**
+   * Fully qualified names of the fields that hold values, in tree order.
+   */
+  public List<String> getFieldNames() {
+    return schema.getTerminalFields().stream().map(FormFieldDefinition::getFullyQualifiedName).toList();
+  }
+
+  /**
+   * The field schema, which also translates check box and radio button values
+   * for the fill.
+   */
+  public FormFieldSchema getSchema() {
+    return schema;
+  }
+
+  public boolean hasField(String fieldName) {
+    FormFieldDefinition field = schema.getField(fieldName);
+    return field != null && field.isTerminal();
+  }
+
+  /**
+   * Loads a fresh, unfilled copy of the template. Field lookups on the copy are
+   * served from the field cache of its AcroForm.
+   */
+  public PDDocument newDocument() throws IOException {
+    PDDocument document = Loader.loadPDF(templateBytes);
+    PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+    if (acroForm != null) {
+      acroForm.setCacheFields(true);
+    }
+    return document;
+  }
+}
@@ -0,0 +1,93 @@
+package com.axonivy.utils.pdfbox.model;
+
+/**
+ * Encoding and concurrency of a batch conversion. Every stage has its own
+ * number of threads. Loading and writing mostly wait for the disk, rendering
+ * and encoding for the CPU, so the CPU bound stages default to the number of
+ * processors.
+ */
+public class BatchConversionOptions {
+  public static final int DEFAULT_QUEUE_CAPACITY = 16;
+  private static final int DEFAULT_IO_THREADS = 2;
+
+  private ImageEncodingOptions encodingOptions = new ImageEncodingOptions();
+  private int loadThreads = DEFAULT_IO_THREADS;
+  private int renderThreads = Runtime.getRuntime().availableProcessors();
+  private int encodeThreads = Runtime.getRuntime().availableProcessors();
+  private int writeThreads = DEFAULT_IO_THREADS;
+  private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+  private boolean skipFailedPages;
+
+  public BatchConversionOptions() {
+  }
+
+  public BatchConversionOptions(ImageEncodingOptions encodingOptions) {
+    this.encodingOptions = encodingOptions;
+  }
+
+  public ImageEncodingOptions getEncodingOptions() {
+    return encodingOptions;
+  }
+
+  public void setEncodingOptions(ImageEncodingOptions encodingOptions) {
+    this.encodingOptions = encodingOptions;
+  }
+
+  public int getLoadThreads() {
+    return loadThreads;
+  }
+
+  public void setLoadThreads(int loadThreads) {
+    this.loadThreads = loadThreads;
+  }
+
+  public int getRenderThreads() {
+    return renderThreads;
+  }
+
+  public void setRenderThreads(int renderThreads) {
+    this.renderThreads = renderThreads;
+  }
+
+  public int getEncodeThreads() {
+    return encodeThreads;
+  }
+
+  public void setEncodeThreads(int encodeThreads) {
+    this.encodeThreads = encodeThreads;
+  }
+
+  public int getWriteThreads() {
+    return writeThreads;
+  }
+
+  public void setWriteThreads(int writeThreads) {
+    this.writeThreads = writeThreads;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * Number of loaded documents, rendered pages and encoded pages that may wait
+   * for the next stage. Rendered pages are uncompressed images, so this also
+   * bounds the memory of a batch together with the
+   * {@link com.axonivy.utils.pdfbox.service.RenderingGovernor}.
+   */
+  public void setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = queueCapacity;
+  }
+
+  public boolean isSkipFailedPages() {
+    return skipFailedPages;
+  }
+
+  /**
+   * Leaves pages that can not be rendered out of the ZIP and reports them,
+   * instead of failing the whole document.
+   */
+  public void setSkipFailedPages(boolean skipFailedPages) {
+    this.skipFailedPages = skipFailedPages;
+  }
+}
@@ -0,0 +1,166 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+
+/**
+ * Outcome of a batch conversion. Stages are named by the phase they run:
+ * {@link PdfPhase#PARSE} loads, {@link PdfPhase#RENDER} renders,
+ * {@link PdfPhase#ENCODE} encodes and {@link PdfPhase#ZIP} writes.
+ */
+public class BatchConversionReport implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+  private static final double BYTES_PER_MEGABYTE = 1024d * 1024;
+
+  private final long documents;
+  private final long pages;
+  private final long bytesIn;
+  private final long bytesOut;
+  private final long elapsedNanos;
+  private final Map<PdfPhase, Long> stageBusyNanos;
+  private final Map<PdfPhase, Integer> stageThreads;
+  private final Map<String, String> failures;
+  private final Map<String, List<PageFailure>> pageFailures;
+
+  public BatchConversionReport(long documents, long pages, long bytesIn, long bytesOut, long elapsedNanos,
+      Map<PdfPhase, Long> stageBusyNanos, Map<PdfPhase, Integer> stageThreads, Map<String, String> failures,
+      Map<String, List<PageFailure>> pageFailures) {
+    this.documents = documents;
+    this.pages = pages;
+    this.bytesIn = bytesIn;
+    this.bytesOut = bytesOut;
+    this.elapsedNanos = elapsedNanos;
+    this.stageBusyNanos = Collections.unmodifiableMap(new EnumMap<>(stageBusyNanos));
+    this.stageThreads = Collections.unmodifiableMap(new EnumMap<>(stageThreads));
+    this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    Map<String, List<PageFailure>> copy = new LinkedHashMap<>();
+    pageFailures.forEach((input, failed) -> copy.put(input, List.copyOf(failed)));
+    this.pageFailures = Collections.unmodifiableMap(copy);
+  }
+
+  public long getDocuments() {
+    return documents;
+  }
+
+  public long getSucceeded() {
+    return documents - failures.size();
+  }
+
+  public long getFailed() {
+    return failures.size();
+  }
+
+  /**
+   * Error message by input of every document that could not be converted.
+   */
+  public Map<String, String> getFailures() {
+    return failures;
+  }
+
+  /**
+   * Pages that were skipped by input of every converted document that is
+   * missing pages.
+   */
+  public Map<String, List<PageFailure>> getPageFailures() {
+    return pageFailures;
+  }
+
+  /**
+   * Pages of the converted documents, without the skipped ones.
+   */
+  public long getPages() {
+    return pages;
+  }
+
+  public long getBytesIn() {
+    return bytesIn;
+  }
+
+  public long getBytesOut() {
+    return bytesOut;
+  }
+
+  public long getElapsedNanos() {
+    return elapsedNanos;
+  }
+
+  public double getDocumentsPerSecond() {
+    return perSecond(getSucceeded());
+  }
+
+  public double getPagesPerSecond() {
+    return perSecond(pages);
+  }
+
+  public double getMegabytesInPerSecond() {
+    return perSecond(bytesIn) / BYTES_PER_MEGABYTE;
+  }
+
+  public double getMegabytesOutPerSecond() {
+    return perSecond(bytesOut) / BYTES_PER_MEGABYTE;
+  }
+
+  public Map<PdfPhase, Long> getStageBusyNanos() {
+    return stageBusyNanos;
+  }
+
+  /**
+   * Share of the time the threads of the stage were working instead of waiting
+   * for input or for room in the next queue. A stage close to 1 is the
+   * bottleneck and deserves more threads.
+   */
+  public double getStageUtilization(PdfPhase stage) {
+    int threads = stageThreads.getOrDefault(stage, 0);
+    if (threads == 0 || elapsedNanos == 0) {
+      return 0;
+    }
+    return (double) stageBusyNanos.getOrDefault(stage, 0L) / (elapsedNanos * threads);
+  }
+
+  /**
+   * Writes the summary followed by one line per failed document and per
+   * skipped page.
+   */
+  public void writeTo(Writer writer) throws IOException {
+    writer.write(toString());
+    writer.write(System.lineSeparator());
+    for (Map.Entry<String, String> failure : failures.entrySet()) {
+      writer.write("FAILED " + failure.getKey() + ": " + failure.getValue());
+      writer.write(System.lineSeparator());
+    }
+    for (Map.Entry<String, List<PageFailure>> document : pageFailures.entrySet()) {
+      for (PageFailure failure : document.getValue()) {
+        writer.write("SKIPPED " + document.getKey() + " " + failure);
+        writer.write(System.lineSeparator());
+      }
+    }
+    writer.flush();
+  }
+
+  private double perSecond(long count) {
+    return elapsedNanos == 0 ? 0 : count * NANOS_PER_SECOND / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(String.format(
+        "documents=%d (succeeded=%d, failed=%d), pages=%d, elapsed=%.1f s%n"
+            + "throughput: %.2f documents/s, %.1f pages/s, in=%.2f MB/s, out=%.2f MB/s",
+        documents, getSucceeded(), getFailed(), pages, elapsedNanos / NANOS_PER_SECOND, getDocumentsPerSecond(),
+        getPagesPerSecond(), getMegabytesInPerSecond(), getMegabytesOutPerSecond()));
+    for (Map.Entry<PdfPhase, Integer> stage : stageThreads.entrySet()) {
+      builder.append(String.format("%n%s: threads=%d, utilization=%.0f%%", stage.getKey(), stage.getValue(),
+          getStageUtilization(stage.getKey()) * 100));
+    }
+    return builder.toString();
+  }
+}
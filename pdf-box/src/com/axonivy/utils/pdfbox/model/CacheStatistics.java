@@ -0,0 +1,70 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.Serializable;
+
+public class CacheStatistics implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final long memoryHits;
+  private final long diskHits;
+  private final long misses;
+  private final long evictions;
+  private final long memoryEntries;
+  private final long memoryBytes;
+  private final long diskBytes;
+
+  public CacheStatistics(long memoryHits, long diskHits, long misses, long evictions, long memoryEntries,
+      long memoryBytes, long diskBytes) {
+    this.memoryHits = memoryHits;
+    this.diskHits = diskHits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.memoryEntries = memoryEntries;
+    this.memoryBytes = memoryBytes;
+    this.diskBytes = diskBytes;
+  }
+
+  public long getMemoryHits() {
+    return memoryHits;
+  }
+
+  public long getDiskHits() {
+    return diskHits;
+  }
+
+  public long getHits() {
+    return memoryHits + diskHits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public long getMemoryEntries() {
+    return memoryEntries;
+  }
+
+  public long getMemoryBytes() {
+    return memoryBytes;
+  }
+
+  public long getDiskBytes() {
+    return diskBytes;
+  }
+
+  public double getHitRate() {
+    long requests = getHits() + misses;
+    return requests == 0 ? 0 : (double) getHits() / requests;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "hits=%d (memory=%d, disk=%d), misses=%d, evictions=%d, entries=%d, memory=%d bytes, disk=%d bytes",
+        getHits(), memoryHits, diskHits, misses, evictions, memoryEntries, memoryBytes, diskBytes);
+  }
+}
@@ -0,0 +1,106 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.axonivy.utils.pdfbox.enums.PdfErrorType;
+
+/**
+ * Outcome of converting a document to a ZIP of page images. Unlike an empty
+ * array it tells a broken document from one that failed for the moment, and it
+ * keeps the pages that were converted before a page failed.
+ */
+public class ConversionResult implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final byte[] content;
+  private final int pageCount;
+  private final int convertedPages;
+  private final PdfErrorType errorType;
+  private final String errorMessage;
+  private final List<PageFailure> pageFailures;
+
+  public ConversionResult(byte[] content, int pageCount, int convertedPages, PdfErrorType errorType,
+      String errorMessage, List<PageFailure> pageFailures) {
+    this.content = content;
+    this.pageCount = pageCount;
+    this.convertedPages = convertedPages;
+    this.errorType = errorType;
+    this.errorMessage = errorMessage;
+    this.pageFailures = List.copyOf(pageFailures);
+  }
+
+  /**
+   * A document that could not be loaded at all.
+   */
+  public static ConversionResult failed(PdfErrorType errorType, String errorMessage) {
+    return new ConversionResult(new byte[0], -1, 0, errorType, errorMessage, List.of());
+  }
+
+  /**
+   * ZIP with the pages that were converted, empty if the document could not be
+   * loaded.
+   */
+  public byte[] getContent() {
+    return content;
+  }
+
+  /**
+   * Pages of the document, -1 if it could not be loaded.
+   */
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  public int getConvertedPages() {
+    return convertedPages;
+  }
+
+  /**
+   * The error that stopped the conversion, null if every page was attempted.
+   */
+  public PdfErrorType getErrorType() {
+    return errorType;
+  }
+
+  public String getErrorMessage() {
+    return errorMessage;
+  }
+
+  public List<PageFailure> getPageFailures() {
+    return pageFailures;
+  }
+
+  public boolean isComplete() {
+    return pageCount >= 0 && convertedPages == pageCount;
+  }
+
+  public boolean isFailed() {
+    return errorType != null;
+  }
+
+  /**
+   * Some pages were converted, but not all of them.
+   */
+  public boolean isPartial() {
+    return convertedPages > 0 && !isComplete();
+  }
+
+  /**
+   * Whether converting the document again may give a better result.
+   */
+  public boolean isRetryable() {
+    return errorType != null ? errorType.isRetryable()
+        : pageFailures.stream().anyMatch(failure -> failure.getErrorType().isRetryable());
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(String.format("converted %d of %d pages", convertedPages, pageCount));
+    if (errorType != null) {
+      builder.append(", failed: ").append(errorType).append(' ').append(errorMessage);
+    }
+    pageFailures.forEach(failure -> builder.append(", ").append(failure));
+    return builder.toString();
+  }
+}
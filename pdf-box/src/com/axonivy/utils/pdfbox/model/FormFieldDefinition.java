@@ -0,0 +1,138 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.axonivy.utils.pdfbox.enums.PdfFieldType;
+
+/**
+ * One node of the field tree of a {@link FormFieldSchema}. Non-terminal nodes
+ * only group their children; values, options and on values are only set on
+ * terminal fields.
+ */
+public class FormFieldDefinition {
+  private final String fullyQualifiedName;
+  private final String partialName;
+  private final String displayName;
+  private final String parentName;
+  private final boolean terminal;
+  private final String fieldTypeCode;
+  private final int fieldFlags;
+  private final String value;
+  private final List<String> options;
+  private final List<String> onValues;
+  private final List<String> childNames;
+  private final Map<String, String> valueMapping;
+  private final String unmappedValue;
+
+  FormFieldDefinition(String fullyQualifiedName, String partialName, String displayName, String parentName,
+      boolean terminal, String fieldTypeCode, int fieldFlags, String value, List<String> options,
+      List<String> onValues, List<String> childNames, Map<String, String> valueMapping, String unmappedValue) {
+    this.fullyQualifiedName = fullyQualifiedName;
+    this.partialName = partialName;
+    this.displayName = displayName;
+    this.parentName = parentName;
+    this.terminal = terminal;
+    this.fieldTypeCode = fieldTypeCode;
+    this.fieldFlags = fieldFlags;
+    this.value = value;
+    this.options = List.copyOf(options);
+    this.onValues = List.copyOf(onValues);
+    this.childNames = List.copyOf(childNames);
+    this.valueMapping = Map.copyOf(valueMapping);
+    this.unmappedValue = unmappedValue;
+  }
+
+  /**
+   * Translates a value from user input to the value the field accepts. Check
+   * boxes understand true/false, on/off, yes/no and 1/0 in any case, radio
+   * buttons their on values in any case, and both take an empty value as
+   * {@code Off}. Other values are returned unchanged, except for check boxes,
+   * which treat them as checked.
+   */
+  public String toFieldValue(String value) {
+    if (valueMapping.isEmpty()) {
+      return value;
+    }
+    String mapped = valueMapping.get(value == null ? "" : value.toLowerCase(Locale.ROOT));
+    if (mapped != null) {
+      return mapped;
+    }
+    return unmappedValue != null ? unmappedValue : value;
+  }
+
+  /**
+   * The name used to fill the field, e.g. {@code address.street}.
+   */
+  public String getFullyQualifiedName() {
+    return fullyQualifiedName;
+  }
+
+  public String getPartialName() {
+    return partialName;
+  }
+
+  /**
+   * The partial name without suffixes like "Text Box" or "Check Box" that
+   * form designers append.
+   */
+  public String getDisplayName() {
+    return displayName;
+  }
+
+  /**
+   * Fully qualified name of the parent, null for root fields.
+   */
+  public String getParentName() {
+    return parentName;
+  }
+
+  public boolean isTerminal() {
+    return terminal;
+  }
+
+  /**
+   * The raw field type, e.g. {@code Tx}, which may be inherited from a parent.
+   */
+  public String getFieldTypeCode() {
+    return fieldTypeCode;
+  }
+
+  /**
+   * The field type, null if the type is missing or unknown.
+   */
+  public PdfFieldType getFieldType() {
+    return PdfFieldType.fromCode(fieldTypeCode);
+  }
+
+  public int getFieldFlags() {
+    return fieldFlags;
+  }
+
+  /**
+   * The value of the field in the template.
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Options of choice fields, empty for all other fields.
+   */
+  public List<String> getOptions() {
+    return options;
+  }
+
+  /**
+   * Export values that turn a check box or radio button on, empty for all
+   * other fields.
+   */
+  public List<String> getOnValues() {
+    return onValues;
+  }
+
+  public List<String> getChildNames() {
+    return childNames;
+  }
+}
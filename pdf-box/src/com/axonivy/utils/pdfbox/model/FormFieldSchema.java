@@ -0,0 +1,152 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDButton;
+import org.apache.pdfbox.pdmodel.interactive.form.PDCheckBox;
+import org.apache.pdfbox.pdmodel.interactive.form.PDChoice;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDRadioButton;
+
+/**
+ * Immutable inventory of all fields of a form, built in a single walk over the
+ * complete field tree. Fields are kept in tree order and indexed by their fully
+ * qualified name.
+ */
+public class FormFieldSchema {
+  private static final Pattern DESIGNER_SUFFIX = Pattern
+      .compile("\\s+(Text Box|Text Field|Checkbox|Check Box|Radio Button|Dropdown|List Box|Signature|Sig)\\s*$");
+  private static final List<String> CHECKED_VALUES = List.of("true", "on", "yes", "1");
+  private static final List<String> UNCHECKED_VALUES = List.of("false", "off", "no", "0", "");
+
+  private final String contentHash;
+  private final Map<String, FormFieldDefinition> fields;
+  private final List<FormFieldDefinition> terminalFields;
+
+  private FormFieldSchema(String contentHash, Map<String, FormFieldDefinition> fields) {
+    this.contentHash = contentHash;
+    this.fields = Collections.unmodifiableMap(fields);
+    this.terminalFields = fields.values().stream().filter(FormFieldDefinition::isTerminal).toList();
+  }
+
+  /**
+   * Builds the schema of the document, which is empty if the document has no
+   * AcroForm.
+   */
+  public static FormFieldSchema of(PDDocument document, String contentHash) {
+    Map<String, FormFieldDefinition> fields = new LinkedHashMap<>();
+    PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+    if (acroForm != null) {
+      for (PDField field : acroForm.getFieldTree()) {
+        FormFieldDefinition definition = createDefinition(field);
+        fields.put(definition.getFullyQualifiedName(), definition);
+      }
+    }
+    return new FormFieldSchema(contentHash, fields);
+  }
+
+  private static FormFieldDefinition createDefinition(PDField field) {
+    String parentName = field.getParent() == null ? null : field.getParent().getFullyQualifiedName();
+    List<String> childNames = new ArrayList<>();
+    if (field instanceof PDNonTerminalField nonTerminalField) {
+      for (PDField child : nonTerminalField.getChildren()) {
+        childNames.add(child.getFullyQualifiedName());
+      }
+    }
+    boolean terminal = !(field instanceof PDNonTerminalField);
+    List<String> options = field instanceof PDChoice choice ? choice.getOptions() : List.of();
+    List<String> onValues = field instanceof PDButton button ? new ArrayList<>(button.getOnValues()) : List.of();
+    Map<String, String> valueMapping = new HashMap<>();
+    String unmappedValue = null;
+    if (field instanceof PDCheckBox && !onValues.isEmpty()) {
+      unmappedValue = onValues.get(0);
+      putAll(valueMapping, UNCHECKED_VALUES, COSName.Off.getName());
+      putAll(valueMapping, CHECKED_VALUES, unmappedValue);
+      putIgnoringCase(valueMapping, onValues);
+    } else if (field instanceof PDRadioButton radioButton) {
+      putAll(valueMapping, UNCHECKED_VALUES, COSName.Off.getName());
+      putIgnoringCase(valueMapping, onValues);
+      putIgnoringCase(valueMapping, radioButton.getExportValues());
+    }
+    return new FormFieldDefinition(field.getFullyQualifiedName(), field.getPartialName(),
+        toDisplayName(field.getPartialName()), parentName, terminal, field.getFieldType(), field.getFieldFlags(),
+        terminal ? field.getValueAsString() : null, options, onValues, childNames, valueMapping, unmappedValue);
+  }
+
+  private static void putAll(Map<String, String> valueMapping, List<String> keys, String value) {
+    keys.forEach(key -> valueMapping.put(key, value));
+  }
+
+  private static void putIgnoringCase(Map<String, String> valueMapping, List<String> values) {
+    values.forEach(value -> valueMapping.put(value.toLowerCase(Locale.ROOT), value));
+  }
+
+  private static String toDisplayName(String partialName) {
+    if (partialName == null || partialName.isEmpty()) {
+      return partialName;
+    }
+    return DESIGNER_SUFFIX.matcher(partialName).replaceAll("").trim();
+  }
+
+  /**
+   * Content hash of the PDF the schema was built from.
+   */
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  /**
+   * All fields of the tree including the non-terminal ones, parents before
+   * their children.
+   */
+  public Collection<FormFieldDefinition> getFields() {
+    return fields.values();
+  }
+
+  /**
+   * The fields that hold values, in tree order.
+   */
+  public List<FormFieldDefinition> getTerminalFields() {
+    return terminalFields;
+  }
+
+  public FormFieldDefinition getField(String fullyQualifiedName) {
+    return fields.get(fullyQualifiedName);
+  }
+
+  public boolean hasField(String fullyQualifiedName) {
+    return fields.containsKey(fullyQualifiedName);
+  }
+
+  /**
+   * Translates the values of all fields the form knows with
+   * {@link FormFieldDefinition#toFieldValue(String)}. Entries for fields that
+   * are not part of the form are dropped.
+   */
+  public Map<String, String> toFieldValues(Map<String, String> data) {
+    Map<String, String> fieldValues = new LinkedHashMap<>();
+    for (Map.Entry<String, String> entry : data.entrySet()) {
+      FormFieldDefinition field = fields.get(entry.getKey());
+      if (field != null && field.isTerminal()) {
+        fieldValues.put(entry.getKey(), field.toFieldValue(entry.getValue()));
+      }
+    }
+    return fieldValues;
+  }
+
+  public int getFieldCount() {
+    return fields.size();
+  }
+}
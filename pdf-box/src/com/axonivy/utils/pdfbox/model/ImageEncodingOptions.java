@@ -0,0 +1,122 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.util.zip.Deflater;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+import com.axonivy.utils.pdfbox.enums.ZipEntryMethod;
+
+/**
+ * Controls how pages are rendered and encoded. The defaults reproduce the
+ * plain {@code ImageIO.write} output in RGB at 150 DPI inside a deflated ZIP.
+ */
+public class ImageEncodingOptions {
+  public static final int DEFAULT_DPI = 150;
+  public static final int WRITER_DEFAULT = -1;
+
+  private String imageFormat = "png";
+  private int dpi = DEFAULT_DPI;
+  private ImageType imageType = ImageType.RGB;
+  private float jpegQuality = WRITER_DEFAULT;
+  private int pngCompressionLevel = WRITER_DEFAULT;
+  private ZipEntryMethod zipEntryMethod = ZipEntryMethod.DEFLATED;
+  private int zipDeflateLevel = Deflater.DEFAULT_COMPRESSION;
+
+  public ImageEncodingOptions() {
+  }
+
+  public ImageEncodingOptions(String imageFormat, int dpi) {
+    this.imageFormat = imageFormat;
+    this.dpi = dpi <= 0 ? DEFAULT_DPI : dpi;
+  }
+
+  public ImageEncodingOptions(String imageFormat, int dpi, ImageType imageType) {
+    this(imageFormat, dpi);
+    this.imageType = imageType;
+  }
+
+  public String getImageFormat() {
+    return imageFormat;
+  }
+
+  public void setImageFormat(String imageFormat) {
+    this.imageFormat = imageFormat;
+  }
+
+  public int getDpi() {
+    return dpi;
+  }
+
+  /**
+   * Values of zero or below fall back to {@link #DEFAULT_DPI}.
+   */
+  public void setDpi(int dpi) {
+    this.dpi = dpi <= 0 ? DEFAULT_DPI : dpi;
+  }
+
+  public ImageType getImageType() {
+    return imageType;
+  }
+
+  /**
+   * {@link ImageType#GRAY} and {@link ImageType#BINARY} render 8-bit gray or
+   * 1-bit images, which are much cheaper to encode, e.g. for OCR.
+   */
+  public void setImageType(ImageType imageType) {
+    this.imageType = imageType;
+  }
+
+  public float getJpegQuality() {
+    return jpegQuality;
+  }
+
+  /**
+   * Quality between 0 and 1 for jpg/jpeg output. A negative value keeps the
+   * default of the JPEG writer.
+   */
+  public void setJpegQuality(float jpegQuality) {
+    this.jpegQuality = jpegQuality;
+  }
+
+  public int getPngCompressionLevel() {
+    return pngCompressionLevel;
+  }
+
+  /**
+   * Deflate level between 0 (none, fastest) and 9 (smallest) for png output. A
+   * negative value keeps the default of the PNG writer. The filter strategy is
+   * chosen by the JDK PNG writer and cannot be configured.
+   */
+  public void setPngCompressionLevel(int pngCompressionLevel) {
+    this.pngCompressionLevel = pngCompressionLevel;
+  }
+
+  public ZipEntryMethod getZipEntryMethod() {
+    return zipEntryMethod;
+  }
+
+  public void setZipEntryMethod(ZipEntryMethod zipEntryMethod) {
+    this.zipEntryMethod = zipEntryMethod;
+  }
+
+  public int getZipDeflateLevel() {
+    return zipDeflateLevel;
+  }
+
+  public void setZipDeflateLevel(int zipDeflateLevel) {
+    this.zipDeflateLevel = zipDeflateLevel;
+  }
+
+  public boolean isStoredInZip() {
+    return zipEntryMethod != null && zipEntryMethod.isStored(imageFormat);
+  }
+
+  /**
+   * Identifies the settings that change the encoded page image. The ZIP
+   * settings are left out because they do not.
+   */
+  public String getEncodingKey() {
+    return String.join("_", imageFormat.toLowerCase(), String.valueOf(dpi), String.valueOf(imageType),
+        String.valueOf(jpegQuality), String.valueOf(pngCompressionLevel));
+  }
+}
@@ -0,0 +1,39 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.Serializable;
+
+import com.axonivy.utils.pdfbox.enums.PdfErrorType;
+
+public class PageFailure implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final int pageIndex;
+  private final PdfErrorType errorType;
+  private final String message;
+
+  public PageFailure(int pageIndex, PdfErrorType errorType, String message) {
+    this.pageIndex = pageIndex;
+    this.errorType = errorType;
+    this.message = message;
+  }
+
+  /**
+   * Zero based index of the page in the document.
+   */
+  public int getPageIndex() {
+    return pageIndex;
+  }
+
+  public PdfErrorType getErrorType() {
+    return errorType;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("page %d: %s %s", pageIndex + 1, errorType, message);
+  }
+}
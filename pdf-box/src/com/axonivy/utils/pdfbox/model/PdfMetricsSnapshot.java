@@ -0,0 +1,103 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.Serializable;
+import java.util.Map;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+
+public class PdfMetricsSnapshot implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+  private final Map<String, TimerSnapshot> operations;
+  private final Map<String, Map<PdfPhase, TimerSnapshot>> phases;
+  private final Map<String, Long> failures;
+  private final long pages;
+  private final long pageOperationNanos;
+  private final long bytesIn;
+  private final long bytesOut;
+  private final int peakImageWidth;
+  private final int peakImageHeight;
+
+  public PdfMetricsSnapshot(Map<String, TimerSnapshot> operations, Map<String, Map<PdfPhase, TimerSnapshot>> phases,
+      Map<String, Long> failures, long pages, long pageOperationNanos, long bytesIn, long bytesOut,
+      int peakImageWidth, int peakImageHeight) {
+    this.operations = Map.copyOf(operations);
+    this.phases = Map.copyOf(phases);
+    this.failures = Map.copyOf(failures);
+    this.pages = pages;
+    this.pageOperationNanos = pageOperationNanos;
+    this.bytesIn = bytesIn;
+    this.bytesOut = bytesOut;
+    this.peakImageWidth = peakImageWidth;
+    this.peakImageHeight = peakImageHeight;
+  }
+
+  /**
+   * Durations of completed operations by operation name.
+   */
+  public Map<String, TimerSnapshot> getOperations() {
+    return operations;
+  }
+
+  public TimerSnapshot getOperation(String operation) {
+    return operations.get(operation);
+  }
+
+  public Map<String, Map<PdfPhase, TimerSnapshot>> getPhases() {
+    return phases;
+  }
+
+  public TimerSnapshot getPhase(String operation, PdfPhase phase) {
+    Map<PdfPhase, TimerSnapshot> operationPhases = phases.get(operation);
+    return operationPhases == null ? null : operationPhases.get(phase);
+  }
+
+  public Map<String, Long> getFailures() {
+    return failures;
+  }
+
+  public long getFailureCount() {
+    return failures.values().stream().mapToLong(Long::longValue).sum();
+  }
+
+  public long getPages() {
+    return pages;
+  }
+
+  /**
+   * Pages per second over the operations that processed pages.
+   */
+  public double getPagesPerSecond() {
+    return pageOperationNanos == 0 ? 0 : pages * NANOS_PER_SECOND / pageOperationNanos;
+  }
+
+  public long getBytesIn() {
+    return bytesIn;
+  }
+
+  public long getBytesOut() {
+    return bytesOut;
+  }
+
+  public int getPeakImageWidth() {
+    return peakImageWidth;
+  }
+
+  public int getPeakImageHeight() {
+    return peakImageHeight;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(String.format(
+        "pages=%d (%.1f/s), in=%d bytes, out=%d bytes, peak image=%dx%d, failures=%d", pages, getPagesPerSecond(),
+        bytesIn, bytesOut, peakImageWidth, peakImageHeight, getFailureCount()));
+    operations.keySet().stream().sorted().forEach(operation -> {
+      builder.append('\n').append(operation).append(": ").append(operations.get(operation));
+      phases.getOrDefault(operation, Map.of()).entrySet().stream().sorted(Map.Entry.comparingByKey())
+          .forEach(entry -> builder.append("\n  ").append(entry.getKey()).append(": ").append(entry.getValue()));
+    });
+    return builder.toString();
+  }
+}
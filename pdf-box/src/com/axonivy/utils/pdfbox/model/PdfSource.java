@@ -0,0 +1,148 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.io.RandomAccessReadMemoryMappedFile;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+/**
+ * Describes where a PDF is loaded from and which scratch storage PDFBox may use
+ * for it. File based sources are read through PDFBox random access instead of
+ * being copied into a byte array, and they can be loaded several times, e.g.
+ * once per rendering worker.
+ */
+public class PdfSource {
+
+  @FunctionalInterface
+  public interface RandomAccessReadSupplier {
+    RandomAccessRead open() throws IOException;
+  }
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+  private final RandomAccessReadSupplier supplier;
+  private final StreamCacheCreateFunction streamCache;
+  private final boolean reloadable;
+  private final AtomicBoolean consumed = new AtomicBoolean();
+  private volatile String contentHash;
+  private volatile long length = -1;
+
+  private PdfSource(RandomAccessReadSupplier supplier, StreamCacheCreateFunction streamCache, boolean reloadable) {
+    this.supplier = supplier;
+    this.streamCache = streamCache;
+    this.reloadable = reloadable;
+  }
+
+  public static PdfSource of(byte[] bytes) {
+    return new PdfSource(() -> new RandomAccessReadBuffer(bytes), IOUtils.createMemoryOnlyStreamCache(), true);
+  }
+
+  public static PdfSource of(Path path) {
+    return new PdfSource(() -> new RandomAccessReadBufferedFile(path), IOUtils.createTempFileOnlyStreamCache(),
+        true);
+  }
+
+  public static PdfSource of(File file) {
+    return of(file.toPath());
+  }
+
+  public static PdfSource memoryMapped(Path path) {
+    return new PdfSource(() -> new RandomAccessReadMemoryMappedFile(path), IOUtils.createTempFileOnlyStreamCache(),
+        true);
+  }
+
+  /**
+   * Wraps an already opened reader. Such a source can only be loaded once and
+   * the reader is closed together with the loaded document.
+   */
+  public static PdfSource of(RandomAccessRead randomAccessRead) {
+    return new PdfSource(() -> randomAccessRead, IOUtils.createTempFileOnlyStreamCache(), false);
+  }
+
+  public PdfSource withMemoryUsage(MemoryUsageSetting memoryUsageSetting) {
+    return new PdfSource(supplier, memoryUsageSetting.streamCache, reloadable);
+  }
+
+  public PdfSource withTempFileOnlyStreamCache() {
+    return new PdfSource(supplier, IOUtils.createTempFileOnlyStreamCache(), reloadable);
+  }
+
+  public boolean isReloadable() {
+    return reloadable;
+  }
+
+  /**
+   * SHA-256 of the raw PDF bytes as hex string. It is computed on first use
+   * and then remembered.
+   */
+  public String getContentHash() throws IOException {
+    if (contentHash == null) {
+      MessageDigest digest = createDigest();
+      if (reloadable) {
+        try (RandomAccessRead randomAccessRead = supplier.open()) {
+          updateDigest(digest, randomAccessRead);
+        }
+      } else {
+        RandomAccessRead randomAccessRead = supplier.open();
+        long position = randomAccessRead.getPosition();
+        randomAccessRead.seek(0);
+        updateDigest(digest, randomAccessRead);
+        randomAccessRead.seek(position);
+      }
+      contentHash = HexFormat.of().formatHex(digest.digest());
+    }
+    return contentHash;
+  }
+
+  /**
+   * Size of the raw PDF in bytes. It is known once the source was loaded and
+   * -1 before.
+   */
+  public long getLength() {
+    return length;
+  }
+
+  public PDDocument load() throws IOException {
+    if (!reloadable && consumed.getAndSet(true)) {
+      throw new IllegalStateException("This PDF source can only be loaded once");
+    }
+    RandomAccessRead randomAccessRead = supplier.open();
+    try {
+      length = randomAccessRead.length();
+      return Loader.loadPDF(randomAccessRead, streamCache);
+    } catch (IOException | RuntimeException e) {
+      IOUtils.closeQuietly(randomAccessRead);
+      throw e;
+    }
+  }
+
+  private static void updateDigest(MessageDigest digest, RandomAccessRead randomAccessRead) throws IOException {
+    byte[] buffer = new byte[HASH_BUFFER_SIZE];
+    int read;
+    while ((read = randomAccessRead.read(buffer, 0, buffer.length)) > 0) {
+      digest.update(buffer, 0, read);
+    }
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+    }
+  }
+}
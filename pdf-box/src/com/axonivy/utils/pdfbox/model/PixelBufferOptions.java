@@ -0,0 +1,30 @@
+package com.axonivy.utils.pdfbox.model;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+/**
+ * Options for handing rendered pages to the caller as raw pixels instead of
+ * encoded images. The ZIP and image writer settings of the inherited options
+ * are not used.
+ */
+public class PixelBufferOptions extends ImageEncodingOptions {
+  public static final String RAW_FORMAT = "raw";
+
+  private boolean directBuffer;
+
+  public PixelBufferOptions(int dpi, ImageType imageType) {
+    super(RAW_FORMAT, dpi, imageType);
+  }
+
+  public boolean isDirectBuffer() {
+    return directBuffer;
+  }
+
+  /**
+   * Passes the pixels in a direct buffer, which native consumers, e.g. OCR
+   * engines called through JNI, can read without another copy.
+   */
+  public void setDirectBuffer(boolean directBuffer) {
+    this.directBuffer = directBuffer;
+  }
+}
@@ -0,0 +1,67 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.nio.ByteBuffer;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+/**
+ * Raw pixels of a rendered page, row by row from the top. The buffer is reused
+ * for the next page, so it is only valid until the sink returns.
+ */
+public class PixelPage {
+  private final int pageIndex;
+  private final int width;
+  private final int height;
+  private final int stride;
+  private final ImageType imageType;
+  private final ByteBuffer pixels;
+
+  public PixelPage(int pageIndex, int width, int height, int stride, ImageType imageType, ByteBuffer pixels) {
+    this.pageIndex = pageIndex;
+    this.width = width;
+    this.height = height;
+    this.stride = stride;
+    this.imageType = imageType;
+    this.pixels = pixels;
+  }
+
+  /**
+   * Zero based index of the page in the document.
+   */
+  public int getPageIndex() {
+    return pageIndex;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Bytes per row.
+   */
+  public int getStride() {
+    return stride;
+  }
+
+  /**
+   * Layout of the pixels. {@link ImageType#GRAY} has one byte per pixel,
+   * {@link ImageType#BINARY} eight pixels per byte with the first pixel in the
+   * highest bit and 1 for white. {@link ImageType#RGB}, {@link ImageType#BGR}
+   * and {@link ImageType#ARGB} have one byte per channel in the order of their
+   * name.
+   */
+  public ImageType getImageType() {
+    return imageType;
+  }
+
+  /**
+   * Read-only view from position zero to the end of the last row.
+   */
+  public ByteBuffer getPixels() {
+    return pixels;
+  }
+}
@@ -0,0 +1,46 @@
+package com.axonivy.utils.pdfbox.model;
+
+public class RenderedPage {
+  private final int pageIndex;
+  private final String fileName;
+  private final int width;
+  private final int height;
+  private final byte[] content;
+
+  public RenderedPage(int pageIndex, String fileName, int width, int height, byte[] content) {
+    this.pageIndex = pageIndex;
+    this.fileName = fileName;
+    this.width = width;
+    this.height = height;
+    this.content = content;
+  }
+
+  /**
+   * Zero based index of the page in the document.
+   */
+  public int getPageIndex() {
+    return pageIndex;
+  }
+
+  /**
+   * Same name the page gets as entry of the image ZIP, e.g. page_001.png.
+   */
+  public String getFileName() {
+    return fileName;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * The encoded image.
+   */
+  public byte[] getContent() {
+    return content;
+  }
+}
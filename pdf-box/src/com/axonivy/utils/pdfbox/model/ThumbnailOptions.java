@@ -0,0 +1,59 @@
+package com.axonivy.utils.pdfbox.model;
+
+/**
+ * Encoding options for small previews. The page is rendered directly at the
+ * size that fits into the bounding box instead of at a fixed DPI, so the DPI of
+ * the inherited options is not used.
+ */
+public class ThumbnailOptions extends ImageEncodingOptions {
+  private int maxWidth;
+  private int maxHeight;
+  private boolean includeAnnotations = true;
+  private boolean fastRendering = true;
+
+  /**
+   * A bound of zero or below means the thumbnail is only limited by the other
+   * one.
+   */
+  public ThumbnailOptions(int maxWidth, int maxHeight) {
+    this.maxWidth = maxWidth;
+    this.maxHeight = maxHeight;
+  }
+
+  public int getMaxWidth() {
+    return maxWidth;
+  }
+
+  public void setMaxWidth(int maxWidth) {
+    this.maxWidth = maxWidth;
+  }
+
+  public int getMaxHeight() {
+    return maxHeight;
+  }
+
+  public void setMaxHeight(int maxHeight) {
+    this.maxHeight = maxHeight;
+  }
+
+  public boolean isIncludeAnnotations() {
+    return includeAnnotations;
+  }
+
+  public void setIncludeAnnotations(boolean includeAnnotations) {
+    this.includeAnnotations = includeAnnotations;
+  }
+
+  public boolean isFastRendering() {
+    return fastRendering;
+  }
+
+  /**
+   * Allows PDFBox to subsample embedded images and to render with speed
+   * instead of quality rendering hints, which is hardly visible at thumbnail
+   * size.
+   */
+  public void setFastRendering(boolean fastRendering) {
+    this.fastRendering = fastRendering;
+  }
+}
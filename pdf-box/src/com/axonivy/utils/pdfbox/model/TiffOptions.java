@@ -0,0 +1,40 @@
+package com.axonivy.utils.pdfbox.model;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+import com.axonivy.utils.pdfbox.enums.TiffCompression;
+
+/**
+ * Options for rendering all pages into one multi-page TIFF. The ZIP and image
+ * writer settings of the inherited options are not used.
+ */
+public class TiffOptions extends ImageEncodingOptions {
+  public static final String TIFF_FORMAT = "tiff";
+
+  private TiffCompression compression;
+
+  public TiffOptions(int dpi, ImageType imageType, TiffCompression compression) {
+    super(TIFF_FORMAT, dpi, imageType);
+    this.compression = compression;
+  }
+
+  /**
+   * Bilevel pages with CCITT Group 4 compression, as accepted by fax gateways
+   * and most archives.
+   */
+  public static TiffOptions bilevel(int dpi) {
+    return new TiffOptions(dpi, ImageType.BINARY, TiffCompression.CCITT_T6);
+  }
+
+  public static TiffOptions gray(int dpi) {
+    return new TiffOptions(dpi, ImageType.GRAY, TiffCompression.LZW);
+  }
+
+  public TiffCompression getCompression() {
+    return compression;
+  }
+
+  public void setCompression(TiffCompression compression) {
+    this.compression = compression;
+  }
+}
@@ -0,0 +1,47 @@
+package com.axonivy.utils.pdfbox.model;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+/**
+ * Options for rendering pages as a grid of tiles, e.g. engineering drawings
+ * that are too large to be rendered into one image. Tiles at the right and
+ * bottom edge of a page are cut to the page size.
+ */
+public class TileOptions extends ImageEncodingOptions {
+  public static final int DEFAULT_TILE_SIZE = 1024;
+
+  private int tileWidth = DEFAULT_TILE_SIZE;
+  private int tileHeight = DEFAULT_TILE_SIZE;
+
+  public TileOptions(String imageFormat, int dpi) {
+    super(imageFormat, dpi);
+  }
+
+  public TileOptions(String imageFormat, int dpi, ImageType imageType) {
+    super(imageFormat, dpi, imageType);
+  }
+
+  public int getTileWidth() {
+    return tileWidth;
+  }
+
+  /**
+   * Width in pixels, values of zero or below fall back to
+   * {@link #DEFAULT_TILE_SIZE}.
+   */
+  public void setTileWidth(int tileWidth) {
+    this.tileWidth = tileWidth <= 0 ? DEFAULT_TILE_SIZE : tileWidth;
+  }
+
+  public int getTileHeight() {
+    return tileHeight;
+  }
+
+  /**
+   * Height in pixels, values of zero or below fall back to
+   * {@link #DEFAULT_TILE_SIZE}.
+   */
+  public void setTileHeight(int tileHeight) {
+    this.tileHeight = tileHeight <= 0 ? DEFAULT_TILE_SIZE : tileHeight;
+  }
+}
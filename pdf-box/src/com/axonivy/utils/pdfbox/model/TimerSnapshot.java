@@ -0,0 +1,70 @@
+package com.axonivy.utils.pdfbox.model;
+
+import java.io.Serializable;
+
+/**
+ * Recorded durations of a timer. Percentiles come from power of two buckets,
+ * so they are upper bounds that are at most twice the real value.
+ */
+public class TimerSnapshot implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final double NANOS_PER_MILLI = 1_000_000d;
+
+  private final long count;
+  private final long totalNanos;
+  private final long minNanos;
+  private final long maxNanos;
+  private final long p50Nanos;
+  private final long p95Nanos;
+  private final long p99Nanos;
+
+  public TimerSnapshot(long count, long totalNanos, long minNanos, long maxNanos, long p50Nanos, long p95Nanos,
+      long p99Nanos) {
+    this.count = count;
+    this.totalNanos = totalNanos;
+    this.minNanos = minNanos;
+    this.maxNanos = maxNanos;
+    this.p50Nanos = p50Nanos;
+    this.p95Nanos = p95Nanos;
+    this.p99Nanos = p99Nanos;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  public long getMinNanos() {
+    return minNanos;
+  }
+
+  public long getMaxNanos() {
+    return maxNanos;
+  }
+
+  public long getMeanNanos() {
+    return count == 0 ? 0 : totalNanos / count;
+  }
+
+  public long getP50Nanos() {
+    return p50Nanos;
+  }
+
+  public long getP95Nanos() {
+    return p95Nanos;
+  }
+
+  public long getP99Nanos() {
+    return p99Nanos;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d, mean=%.2f ms, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms", count,
+        getMeanNanos() / NANOS_PER_MILLI, p50Nanos / NANOS_PER_MILLI, p95Nanos / NANOS_PER_MILLI,
+        p99Nanos / NANOS_PER_MILLI, maxNanos / NANOS_PER_MILLI);
+  }
+}
@@ -0,0 +1,116 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.axonivy.utils.pdfbox.model.AcroFormTemplate;
+import com.axonivy.utils.pdfbox.utils.ExecutorUtils;
+
+public class AcroFormBatchService {
+
+  /**
+   * Receives every filled document of a batch. It is called from the worker
+   * threads, so implementations must be thread-safe. The document is closed
+   * after the call returns.
+   */
+  @FunctionalInterface
+  public interface FilledDocumentSink {
+    void accept(int recordIndex, PDDocument filledDocument) throws IOException;
+
+    static FilledDocumentSink toDirectory(Path directory, String fileNamePattern) {
+      return (recordIndex, filledDocument) -> filledDocument
+          .save(directory.resolve(String.format(fileNamePattern, recordIndex + 1)).toFile());
+    }
+  }
+
+  /**
+   * Fills a fresh copy of the template. Values are translated by the schema of
+   * the template, which also drops values of fields the form does not have.
+   */
+  public static PDDocument fill(AcroFormTemplate template, Map<String, String> data) throws IOException {
+    Map<String, String> knownFields = template.getSchema().toFieldValues(data);
+    PDDocument document = template.newDocument();
+    try {
+      PdfService.fillAcroForm(document, knownFields);
+      return document;
+    } catch (IOException | RuntimeException e) {
+      document.close();
+      throw e;
+    }
+  }
+
+  public static List<byte[]> fillAll(AcroFormTemplate template, List<Map<String, String>> records, int parallelism)
+      throws IOException {
+    byte[][] results = new byte[records.size()][];
+    fillAll(template, records.iterator(), parallelism, (recordIndex, filledDocument) -> {
+      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        filledDocument.save(baos);
+        results[recordIndex] = baos.toByteArray();
+      }
+    });
+    List<byte[]> filled = new ArrayList<>(results.length);
+    Collections.addAll(filled, results);
+    return filled;
+  }
+
+  /**
+   * Fills the template once per record of the iterator and hands every filled
+   * document to the sink. Records are pulled lazily by up to
+   * {@code parallelism} workers, so the iterator may be backed by a stream or a
+   * database cursor. The first failure stops the batch and is rethrown.
+   */
+  public static void fillAll(AcroFormTemplate template, Iterator<Map<String, String>> records, int parallelism,
+      FilledDocumentSink sink) throws IOException {
+    int workers = Math.max(1, parallelism);
+    AtomicInteger nextIndex = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    ThreadPoolExecutor executor = ExecutorUtils.newBoundedExecutor(workers, workers, "pdf-fill");
+    try {
+      List<Future<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < workers; i++) {
+        futures.add(executor.submit(() -> {
+          fillRecords(template, records, nextIndex, failed, sink);
+          return null;
+        }));
+      }
+      for (Future<Void> future : futures) {
+        ExecutorUtils.await(future);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static void fillRecords(AcroFormTemplate template, Iterator<Map<String, String>> records,
+      AtomicInteger nextIndex, AtomicBoolean failed, FilledDocumentSink sink) throws IOException {
+    while (!failed.get()) {
+      Map<String, String> data;
+      int recordIndex;
+      synchronized (records) {
+        if (!records.hasNext()) {
+          return;
+        }
+        data = records.next();
+        recordIndex = nextIndex.getAndIncrement();
+      }
+      try (PDDocument document = fill(template, data)) {
+        sink.accept(recordIndex, document);
+      } catch (IOException | RuntimeException e) {
+        failed.set(true);
+        throw e;
+      }
+    }
+  }
+}
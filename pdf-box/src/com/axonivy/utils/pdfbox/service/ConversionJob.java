@@ -0,0 +1,221 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.axonivy.utils.pdfbox.enums.ConversionJobStatus;
+
+/**
+ * Handle of a conversion submitted to the {@link ConversionJobService}. All
+ * getters are safe to call from any thread while the job is running.
+ */
+public class ConversionJob<T> implements PdfService.ProgressListener {
+
+  /**
+   * The work of a job. It should pass the listener on to {@link PdfService}, so
+   * the job reports page progress and stops at the next page once cancelled.
+   */
+  @FunctionalInterface
+  public interface Task<T> {
+    T run(PdfService.ProgressListener listener) throws IOException;
+  }
+
+  private final String id;
+  private final CountDownLatch done = new CountDownLatch(1);
+  private volatile ConversionJobStatus status = ConversionJobStatus.QUEUED;
+  private volatile int completedPages;
+  private volatile int pageCount;
+  private volatile boolean cancelRequested;
+  private volatile Thread worker;
+  private volatile T result;
+  private volatile Throwable error;
+  private volatile long finishedNanos;
+  private final Consumer<? super T> resultCleanup;
+  private boolean discarded;
+
+  ConversionJob(String id, Consumer<? super T> resultCleanup) {
+    this.id = id;
+    this.resultCleanup = resultCleanup;
+  }
+
+  @Override
+  public void onProgress(int completedPages, int pageCount) throws IOException {
+    this.pageCount = pageCount;
+    this.completedPages = completedPages;
+    if (cancelRequested || Thread.currentThread().isInterrupted()) {
+      throw new InterruptedIOException("Conversion job " + id + " was cancelled");
+    }
+  }
+
+  /**
+   * Asks the job to stop. A queued job never starts, a running one stops
+   * before its next page. Returns false if the job had already finished.
+   */
+  public boolean cancel() {
+    if (status.isDone()) {
+      return false;
+    }
+    cancelRequested = true;
+    Thread running = worker;
+    if (running != null) {
+      running.interrupt();
+    }
+    return true;
+  }
+
+  /**
+   * Returns the result of a completed job without blocking.
+   *
+   * @throws IllegalStateException if the job is still queued or running
+   */
+  public T getResult() throws IOException {
+    if (!status.isDone()) {
+      throw new IllegalStateException("Conversion job " + id + " is " + status);
+    }
+    return resultOrThrow();
+  }
+
+  /**
+   * Waits until the job is finished and returns its result.
+   */
+  public T await() throws IOException {
+    try {
+      done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for conversion job " + id);
+    }
+    return resultOrThrow();
+  }
+
+  /**
+   * Waits at most the given time and returns whether the job is finished.
+   */
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return done.await(timeout, unit);
+  }
+
+  private T resultOrThrow() throws IOException {
+    switch (status) {
+    case CANCELLED -> throw new CancellationException("Conversion job " + id + " was cancelled");
+    case FAILED -> {
+      if (error instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (error instanceof Error fatal) {
+        throw fatal;
+      }
+      throw (RuntimeException) error;
+    }
+    default -> {
+      return result;
+    }
+    }
+  }
+
+  boolean isCancelRequested() {
+    return cancelRequested;
+  }
+
+  void setWorker(Thread worker) {
+    this.worker = worker;
+  }
+
+  void markRunning() {
+    status = ConversionJobStatus.RUNNING;
+  }
+
+  void complete(T result) {
+    this.result = result;
+    finish(ConversionJobStatus.COMPLETED);
+    synchronized (this) {
+      if (discarded) {
+        cleanUpResult();
+      }
+    }
+  }
+
+  void fail(Throwable error) {
+    this.error = error;
+    finish(cancelRequested ? ConversionJobStatus.CANCELLED : ConversionJobStatus.FAILED);
+  }
+
+  void markCancelled() {
+    finish(ConversionJobStatus.CANCELLED);
+  }
+
+  private void finish(ConversionJobStatus finalStatus) {
+    finishedNanos = System.nanoTime();
+    status = finalStatus;
+    done.countDown();
+  }
+
+  /**
+   * Whether the job finished at least the given time before {@code nowNanos}.
+   */
+  boolean isExpired(long nowNanos, long timeToLiveNanos) {
+    return status.isDone() && nowNanos - finishedNanos >= timeToLiveNanos;
+  }
+
+  /**
+   * Cancels the job and releases its result, now or as soon as a running job
+   * completes anyway.
+   */
+  synchronized void discard() {
+    discarded = true;
+    cancel();
+    if (status.isDone()) {
+      cleanUpResult();
+    }
+  }
+
+  private void cleanUpResult() {
+    T finished = result;
+    result = null;
+    if (finished != null && resultCleanup != null) {
+      resultCleanup.accept(finished);
+    }
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public ConversionJobStatus getStatus() {
+    return status;
+  }
+
+  public boolean isDone() {
+    return status.isDone();
+  }
+
+  public int getCompletedPages() {
+    return completedPages;
+  }
+
+  /**
+   * The number of pages of the document, zero until the job has loaded it.
+   */
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * Progress in percent, based on the pages written so far.
+   */
+  public int getProgress() {
+    if (status == ConversionJobStatus.COMPLETED) {
+      return 100;
+    }
+    int total = pageCount;
+    return total == 0 ? 0 : completedPages * 100 / total;
+  }
+
+  public Throwable getError() {
+    return error;
+  }
+}
@@ -0,0 +1,213 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.TiffOptions;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Runs conversions in the background so request threads do not wait for
+ * them. Every job gets its own virtual thread, but only a limited number of
+ * jobs convert at the same time; the others stay queued. The limit defaults to
+ * the number of processors, as rendering is CPU bound.
+ *
+ * <p>
+ * Jobs are kept until {@link #removeJob(String)} is called, so their result
+ * can be fetched later by id. Finished jobs that nobody removes are dropped
+ * once their time to live has passed, which defaults to
+ * {@link #DEFAULT_RESULT_TIME_TO_LIVE}.
+ */
+public class ConversionJobService implements AutoCloseable {
+  public static final Duration DEFAULT_RESULT_TIME_TO_LIVE = Duration.ofMinutes(30);
+  private static final String TEMP_FILE_PREFIX = "conversion-job-";
+  private static final String ZIP_SUFFIX = ".zip";
+  private static final String TIFF_SUFFIX = ".tiff";
+
+  /**
+   * Writes the result of a job whose result is stored in a temporary file.
+   */
+  @FunctionalInterface
+  private interface OutputTask {
+    void write(OutputStream output, PdfService.ProgressListener listener) throws IOException;
+  }
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final Semaphore permits;
+  private final long resultTimeToLiveNanos;
+  private final Map<String, ConversionJob<?>> jobs = new ConcurrentHashMap<>();
+
+  public ConversionJobService() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  public ConversionJobService(int maxConcurrentJobs) {
+    this(maxConcurrentJobs, DEFAULT_RESULT_TIME_TO_LIVE);
+  }
+
+  public ConversionJobService(int maxConcurrentJobs, Duration resultTimeToLive) {
+    permits = new Semaphore(Math.max(1, maxConcurrentJobs));
+    resultTimeToLiveNanos = resultTimeToLive.toNanos();
+  }
+
+  public <T> ConversionJob<T> submit(ConversionJob.Task<T> task) {
+    return submit(task, null);
+  }
+
+  private <T> ConversionJob<T> submit(ConversionJob.Task<T> task, Consumer<? super T> resultCleanup) {
+    removeExpiredJobs();
+    ConversionJob<T> job = new ConversionJob<>(UUID.randomUUID().toString(), resultCleanup);
+    jobs.put(job.getId(), job);
+    executor.execute(() -> run(job, task));
+    return job;
+  }
+
+  /**
+   * Submits rendering the source to a ZIP of page images. The ZIP is written to
+   * a temporary file, which is deleted when the job is removed or expires.
+   */
+  public ConversionJob<Path> submitZippedImages(PdfSource source, ImageEncodingOptions options,
+      PageImageCache cache) {
+    return submitToTempFile(ZIP_SUFFIX,
+        (output, listener) -> PdfService.writeZippedImagesFromPdf(source, options, 1, cache, output, listener));
+  }
+
+  /**
+   * Submits rendering the source to one multi-page TIFF. The TIFF is written to
+   * a temporary file, which is deleted when the job is removed or expires.
+   */
+  public ConversionJob<Path> submitMultiPageTiff(PdfSource source, TiffOptions options) {
+    return submitToTempFile(TIFF_SUFFIX,
+        (output, listener) -> PdfService.writeMultiPageTiff(source, options, output, listener));
+  }
+
+  /**
+   * Submits filling the form of the source and returns the saved document as
+   * result of the job. Unless the form is flattened, the document is saved as
+   * incremental update. The job reports a single page once it is done. The
+   * filled document is kept in memory, as it is about as large as the source.
+   */
+  public ConversionJob<byte[]> submitFillAcroForm(PdfSource source, Map<String, String> data,
+      AcroFormFillMode fillMode) {
+    return submit(listener -> {
+      try (PDDocument document = source.load(); ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+        listener.onProgress(0, 1);
+        if (fillMode == AcroFormFillMode.FLATTEN) {
+          PdfService.fillAcroForm(document, data, fillMode);
+          document.save(baos);
+        } else {
+          PdfService.fillAcroFormIncremental(document, data, fillMode, baos);
+        }
+        listener.onProgress(1, 1);
+        return baos.toByteArray();
+      }
+    });
+  }
+
+  private ConversionJob<Path> submitToTempFile(String suffix, OutputTask task) {
+    return submit(listener -> {
+      Path file = Files.createTempFile(TEMP_FILE_PREFIX, suffix);
+      try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+        task.write(output, listener);
+      } catch (IOException | RuntimeException | Error e) {
+        deleteTempFile(file);
+        throw e;
+      }
+      return file;
+    }, ConversionJobService::deleteTempFile);
+  }
+
+  public ConversionJob<?> getJob(String id) {
+    removeExpiredJobs();
+    return jobs.get(id);
+  }
+
+  /**
+   * Forgets the job and cancels it if it is not finished yet. A result stored
+   * in a temporary file is deleted.
+   */
+  public void removeJob(String id) {
+    ConversionJob<?> job = jobs.remove(id);
+    if (job != null) {
+      job.discard();
+    }
+  }
+
+  private void removeExpiredJobs() {
+    long now = System.nanoTime();
+    jobs.values().removeIf(job -> {
+      if (!job.isExpired(now, resultTimeToLiveNanos)) {
+        return false;
+      }
+      job.discard();
+      return true;
+    });
+  }
+
+  private static void deleteTempFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      Ivy.log().warn("Could not delete conversion result " + file, e);
+    }
+  }
+
+  private <T> void run(ConversionJob<T> job, ConversionJob.Task<T> task) {
+    job.setWorker(Thread.currentThread());
+    if (job.isCancelRequested()) {
+      job.markCancelled();
+      return;
+    }
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      job.markCancelled();
+      return;
+    }
+    try {
+      if (job.isCancelRequested()) {
+        job.markCancelled();
+        return;
+      }
+      job.markRunning();
+      job.complete(task.run(job));
+    } catch (IOException | RuntimeException e) {
+      job.fail(e);
+    } catch (Error e) {
+      job.fail(e);
+      throw e;
+    } finally {
+      permits.release();
+      job.setWorker(null);
+    }
+  }
+
+  /**
+   * Cancels all jobs that are still queued or running and deletes the results
+   * stored in temporary files.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    jobs.values().forEach(ConversionJob::discard);
+    jobs.clear();
+  }
+}
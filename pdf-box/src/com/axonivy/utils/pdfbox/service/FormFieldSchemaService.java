@@ -0,0 +1,75 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.axonivy.utils.pdfbox.model.FormFieldSchema;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+
+/**
+ * Serves the {@link FormFieldSchema} of uploaded forms. Schemas are cached by
+ * the content hash of the PDF, so a form that is uploaded again is not even
+ * parsed. The cache keeps the most recently used schemas up to the configured
+ * count.
+ */
+public class FormFieldSchemaService {
+  private final int maxEntries;
+  private final Map<String, FormFieldSchema> schemas = new LinkedHashMap<>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, FormFieldSchema> eldest) {
+      return size() > maxEntries;
+    }
+  };
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public FormFieldSchemaService(int maxEntries) {
+    this.maxEntries = Math.max(1, maxEntries);
+  }
+
+  public FormFieldSchema getSchema(PdfSource source) throws IOException {
+    String contentHash = source.getContentHash();
+    synchronized (schemas) {
+      FormFieldSchema cached = schemas.get(contentHash);
+      if (cached != null) {
+        hits.increment();
+        return cached;
+      }
+    }
+    misses.increment();
+    FormFieldSchema schema;
+    try (PDDocument document = source.load()) {
+      schema = FormFieldSchema.of(document, contentHash);
+    }
+    synchronized (schemas) {
+      schemas.put(contentHash, schema);
+    }
+    return schema;
+  }
+
+  public long getHits() {
+    return hits.sum();
+  }
+
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  public int size() {
+    synchronized (schemas) {
+      return schemas.size();
+    }
+  }
+
+  public void clear() {
+    synchronized (schemas) {
+      schemas.clear();
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.PdfMetricsSnapshot;
+import com.axonivy.utils.pdfbox.model.TimerSnapshot;
+
+/**
+ * Keeps counters and histograms in memory, so tests and the demo can look at
+ * them without a metrics backend. Register it with
+ * {@link PdfMetrics#setListener(PdfMetricsListener)}.
+ */
+public class InMemoryPdfMetrics implements PdfMetricsListener {
+  private final Map<String, Histogram> operations = new ConcurrentHashMap<>();
+  private final Map<String, Map<PdfPhase, Histogram>> phases = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+  private final LongAdder pages = new LongAdder();
+  private final LongAdder pageOperationNanos = new LongAdder();
+  private final LongAdder bytesIn = new LongAdder();
+  private final LongAdder bytesOut = new LongAdder();
+  private volatile long peakImagePixels;
+  private int peakImageWidth;
+  private int peakImageHeight;
+
+  @Override
+  public void onPhase(String operation, PdfPhase phase, long nanos) {
+    phases.computeIfAbsent(operation, key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(phase, key -> new Histogram()).record(nanos);
+  }
+
+  @Override
+  public void onOperation(String operation, long nanos, int pages, long bytesIn, long bytesOut) {
+    operations.computeIfAbsent(operation, key -> new Histogram()).record(nanos);
+    if (pages > 0) {
+      this.pages.add(pages);
+      pageOperationNanos.add(nanos);
+    }
+    if (bytesIn > 0) {
+      this.bytesIn.add(bytesIn);
+    }
+    if (bytesOut > 0) {
+      this.bytesOut.add(bytesOut);
+    }
+  }
+
+  @Override
+  public void onPageImage(String operation, int width, int height) {
+    long pixels = (long) width * height;
+    if (pixels <= peakImagePixels) {
+      return;
+    }
+    synchronized (this) {
+      if (pixels > peakImagePixels) {
+        peakImageWidth = width;
+        peakImageHeight = height;
+        peakImagePixels = pixels;
+      }
+    }
+  }
+
+  @Override
+  public void onFailure(String operation, Throwable error) {
+    failures.computeIfAbsent(operation, key -> new LongAdder()).increment();
+  }
+
+  public synchronized PdfMetricsSnapshot snapshot() {
+    Map<String, TimerSnapshot> operationSnapshots = new HashMap<>();
+    operations.forEach((operation, histogram) -> operationSnapshots.put(operation, histogram.snapshot()));
+    Map<String, Map<PdfPhase, TimerSnapshot>> phaseSnapshots = new HashMap<>();
+    phases.forEach((operation, operationPhases) -> {
+      Map<PdfPhase, TimerSnapshot> snapshots = new EnumMap<>(PdfPhase.class);
+      operationPhases.forEach((phase, histogram) -> snapshots.put(phase, histogram.snapshot()));
+      phaseSnapshots.put(operation, snapshots);
+    });
+    Map<String, Long> failureCounts = new HashMap<>();
+    failures.forEach((operation, count) -> failureCounts.put(operation, count.sum()));
+    return new PdfMetricsSnapshot(operationSnapshots, phaseSnapshots, failureCounts, pages.sum(),
+        pageOperationNanos.sum(), bytesIn.sum(), bytesOut.sum(), peakImageWidth, peakImageHeight);
+  }
+
+  public synchronized void reset() {
+    operations.clear();
+    phases.clear();
+    failures.clear();
+    pages.reset();
+    pageOperationNanos.reset();
+    bytesIn.reset();
+    bytesOut.reset();
+    peakImagePixels = 0;
+    peakImageWidth = 0;
+    peakImageHeight = 0;
+  }
+
+  /**
+   * Counts durations in power of two buckets, which is precise enough to spot
+   * regressions and costs one atomic increment per value.
+   */
+  private static final class Histogram {
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong();
+
+    private void record(long nanos) {
+      long value = Math.max(0, nanos);
+      counts.incrementAndGet(BUCKETS - 1 - Long.numberOfLeadingZeros(value | 1));
+      total.add(value);
+      min.accumulateAndGet(value, Math::min);
+      max.accumulateAndGet(value, Math::max);
+    }
+
+    private TimerSnapshot snapshot() {
+      long[] bucketCounts = new long[BUCKETS];
+      long count = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        bucketCounts[i] = counts.get(i);
+        count += bucketCounts[i];
+      }
+      long maxValue = max.get();
+      return new TimerSnapshot(count, total.sum(), count == 0 ? 0 : min.get(), maxValue,
+          percentile(bucketCounts, count, 0.5, maxValue), percentile(bucketCounts, count, 0.95, maxValue),
+          percentile(bucketCounts, count, 0.99, maxValue));
+    }
+
+    private static long percentile(long[] bucketCounts, long count, double quantile, long maxValue) {
+      long rank = (long) Math.ceil(count * quantile);
+      long seen = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        seen += bucketCounts[i];
+        if (seen >= rank && seen > 0) {
+          long upperBound = i >= BUCKETS - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+          return Math.min(upperBound, maxValue);
+        }
+      }
+      return maxValue;
+    }
+  }
+}
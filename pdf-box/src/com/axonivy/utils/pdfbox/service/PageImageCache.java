@@ -0,0 +1,320 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import com.axonivy.utils.pdfbox.model.CacheStatistics;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Keeps encoded page images keyed by the content hash of the PDF, the page
+ * index and the encoding settings, so exporting the same document again does
+ * not render it again. The in-memory tier is a size bounded LRU. The optional
+ * disk tier keeps every entry as a file in the configured directory and drops
+ * the least recently used files when it grows beyond its limit. It also
+ * keeps the page count of every document, so a restarted server can serve a
+ * whole export from disk without parsing the PDF. Page counts share the disk
+ * limit with the page images and are dropped the same way.
+ */
+public class PageImageCache {
+  private static final String FILE_EXTENSION = ".img";
+  private static final String PAGE_COUNT_EXTENSION = ".pages";
+  private static final String TEMP_EXTENSION = ".tmp";
+  private static final int MAX_PAGE_COUNT_ENTRIES = 1024;
+
+  private final long maxMemoryBytes;
+  private final Path directory;
+  private final long maxDiskBytes;
+  private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<String, Integer> pageCounts = new LinkedHashMap<>(16, 0.75f, true) {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+      return size() > MAX_PAGE_COUNT_ENTRIES;
+    }
+  };
+  private long memoryBytes;
+  private final AtomicLong diskBytes = new AtomicLong();
+  private final LongAdder memoryHits = new LongAdder();
+  private final LongAdder diskHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  public PageImageCache(long maxMemoryBytes) {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.directory = null;
+    this.maxDiskBytes = 0;
+  }
+
+  public PageImageCache(long maxMemoryBytes, Path directory, long maxDiskBytes) throws IOException {
+    this.maxMemoryBytes = maxMemoryBytes;
+    this.directory = Files.createDirectories(directory);
+    this.maxDiskBytes = maxDiskBytes;
+    // left behind if the server stopped while writing an entry
+    try (Stream<Path> tempFiles = listFiles(TEMP_EXTENSION)) {
+      for (Path tempFile : (Iterable<Path>) tempFiles::iterator) {
+        Files.deleteIfExists(tempFile);
+      }
+    }
+    try (Stream<Path> files = listCacheFiles()) {
+      diskBytes.set(files.mapToLong(PageImageCache::sizeOf).sum());
+    }
+  }
+
+  public static String createKey(String contentHash, int pageIndex, ImageEncodingOptions options) {
+    return contentHash + "_" + pageIndex + "_" + options.getEncodingKey();
+  }
+
+  public byte[] get(String key) {
+    synchronized (memory) {
+      byte[] image = memory.get(key);
+      if (image != null) {
+        memoryHits.increment();
+        return image;
+      }
+    }
+    byte[] image = readFromDisk(key);
+    if (image != null) {
+      diskHits.increment();
+      putInMemory(key, image);
+      return image;
+    }
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Whether the entry is cached, without reading it or counting a hit or a
+   * miss. A later {@link #get(String)} can still miss if the entry is evicted
+   * in between.
+   */
+  public boolean contains(String key) {
+    synchronized (memory) {
+      if (memory.containsKey(key)) {
+        return true;
+      }
+    }
+    return directory != null && Files.exists(directory.resolve(key + FILE_EXTENSION));
+  }
+
+  public void put(String key, byte[] image) {
+    putInMemory(key, image);
+    writeToDisk(key, image);
+  }
+
+  public Integer getPageCount(String contentHash) {
+    synchronized (pageCounts) {
+      Integer pageCount = pageCounts.get(contentHash);
+      if (pageCount != null || directory == null) {
+        return pageCount;
+      }
+    }
+    Integer pageCount = readPageCount(contentHash);
+    if (pageCount != null) {
+      synchronized (pageCounts) {
+        pageCounts.put(contentHash, pageCount);
+      }
+    }
+    return pageCount;
+  }
+
+  public void putPageCount(String contentHash, int pageCount) {
+    synchronized (pageCounts) {
+      if (Integer.valueOf(pageCount).equals(pageCounts.put(contentHash, pageCount))) {
+        return;
+      }
+    }
+    if (directory != null) {
+      writeFile(directory.resolve(contentHash + PAGE_COUNT_EXTENSION),
+          Integer.toString(pageCount).getBytes(StandardCharsets.US_ASCII));
+    }
+  }
+
+  public CacheStatistics getStatistics() {
+    synchronized (memory) {
+      return new CacheStatistics(memoryHits.sum(), diskHits.sum(), misses.sum(), evictions.sum(), memory.size(),
+          memoryBytes, diskBytes.get());
+    }
+  }
+
+  public void clear() {
+    synchronized (memory) {
+      memory.clear();
+      memoryBytes = 0;
+    }
+    synchronized (pageCounts) {
+      pageCounts.clear();
+    }
+    if (directory != null) {
+      try (Stream<Path> files = listCacheFiles()) {
+        files.forEach(this::deleteFromDisk);
+      } catch (IOException e) {
+        Ivy.log().warn("Can not clear page image cache directory " + directory, e);
+      }
+    }
+  }
+
+  private void putInMemory(String key, byte[] image) {
+    if (image.length > maxMemoryBytes) {
+      return;
+    }
+    synchronized (memory) {
+      byte[] previous = memory.put(key, image);
+      memoryBytes += image.length - (previous == null ? 0 : previous.length);
+      Iterator<byte[]> eldest = memory.values().iterator();
+      while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+        memoryBytes -= eldest.next().length;
+        eldest.remove();
+        evictions.increment();
+      }
+    }
+  }
+
+  private byte[] readFromDisk(String key) {
+    if (directory == null) {
+      return null;
+    }
+    Path file = directory.resolve(key + FILE_EXTENSION);
+    try {
+      byte[] image = Files.readAllBytes(file);
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      return image;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      Ivy.log().warn("Can not read cached page image " + file, e);
+      return null;
+    }
+  }
+
+  private Integer readPageCount(String contentHash) {
+    Path file = directory.resolve(contentHash + PAGE_COUNT_EXTENSION);
+    try {
+      Integer pageCount = Integer.valueOf(Files.readString(file).strip());
+      Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+      return pageCount;
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException | NumberFormatException e) {
+      Ivy.log().warn("Can not read cached page count " + file, e);
+      return null;
+    }
+  }
+
+  private void writeToDisk(String key, byte[] image) {
+    if (directory == null || image.length > maxDiskBytes) {
+      return;
+    }
+    writeFile(directory.resolve(key + FILE_EXTENSION), image);
+  }
+
+  /**
+   * Replaces the file through a temporary file, so readers never see half an
+   * entry. The temporary file is removed again if writing fails, e.g. because
+   * the disk is full.
+   */
+  private void writeFile(Path file, byte[] content) {
+    Path tempFile = null;
+    try {
+      tempFile = Files.createTempFile(directory, file.getFileName().toString(), TEMP_EXTENSION);
+      Files.write(tempFile, content);
+      long previousSize = sizeOf(file);
+      Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      tempFile = null;
+      if (diskBytes.addAndGet(content.length - previousSize) > maxDiskBytes) {
+        trimDisk();
+      }
+    } catch (IOException e) {
+      Ivy.log().warn("Can not write to page image cache " + file, e);
+    } finally {
+      if (tempFile != null) {
+        deleteTempFile(tempFile);
+      }
+    }
+  }
+
+  private static void deleteTempFile(Path tempFile) {
+    try {
+      Files.deleteIfExists(tempFile);
+    } catch (IOException e) {
+      Ivy.log().warn("Can not delete temporary cache file " + tempFile, e);
+    }
+  }
+
+  private synchronized void trimDisk() throws IOException {
+    List<Path> files;
+    try (Stream<Path> stream = listCacheFiles()) {
+      files = stream.sorted(Comparator.comparing(PageImageCache::lastModified)).toList();
+    }
+    for (Path file : files) {
+      if (diskBytes.get() <= maxDiskBytes) {
+        return;
+      }
+      deleteFromDisk(file);
+      evictions.increment();
+      String fileName = file.getFileName().toString();
+      if (fileName.endsWith(PAGE_COUNT_EXTENSION)) {
+        synchronized (pageCounts) {
+          pageCounts.remove(fileName.substring(0, fileName.length() - PAGE_COUNT_EXTENSION.length()));
+        }
+      }
+    }
+  }
+
+  private void deleteFromDisk(Path file) {
+    long size = sizeOf(file);
+    try {
+      if (Files.deleteIfExists(file)) {
+        diskBytes.addAndGet(-size);
+      }
+    } catch (IOException e) {
+      Ivy.log().warn("Can not delete cache file " + file, e);
+    }
+  }
+
+  /**
+   * Page images and page counts, which both count towards the disk limit.
+   */
+  private Stream<Path> listCacheFiles() throws IOException {
+    return Files.list(directory).filter(file -> {
+      String fileName = file.getFileName().toString();
+      return fileName.endsWith(FILE_EXTENSION) || fileName.endsWith(PAGE_COUNT_EXTENSION);
+    });
+  }
+
+  private Stream<Path> listFiles(String extension) throws IOException {
+    return Files.list(directory).filter(file -> file.getFileName().toString().endsWith(extension));
+  }
+
+  private static long sizeOf(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static FileTime lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file);
+    } catch (IOException e) {
+      return FileTime.fromMillis(0);
+    }
+  }
+}
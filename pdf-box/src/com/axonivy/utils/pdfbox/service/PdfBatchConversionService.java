@@ -0,0 +1,594 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.BatchConversionOptions;
+import com.axonivy.utils.pdfbox.model.BatchConversionReport;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PageFailure;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.utils.CountingOutputStream;
+import com.axonivy.utils.pdfbox.utils.ExecutorUtils;
+import com.axonivy.utils.pdfbox.utils.ImageEncoder;
+
+/**
+ * Converts many PDF files to ZIPs of page images, e.g. in overnight jobs.
+ * Loading, rendering, encoding and writing run as separate stages with their
+ * own threads, connected by bounded queues, so the disk and the CPU are busy
+ * at the same time and memory stays bounded however many files there are.
+ *
+ * <p>
+ * A document that fails is reported and skipped, it does not stop the batch.
+ * Its partial ZIP is removed. With
+ * {@link BatchConversionOptions#setSkipFailedPages(boolean)} a page that can
+ * not be rendered is left out and reported instead. Every batch writes a {@link #REPORT_FILE_NAME}
+ * with the summary and the failures to the output directory.
+ */
+public class PdfBatchConversionService {
+  public static final String REPORT_FILE_NAME = "conversion-report.txt";
+  private static final String OPERATION = "convertBatch";
+  private static final String PDF_EXTENSION = ".pdf";
+  private static final String ZIP_EXTENSION = ".zip";
+  private static final String PART_EXTENSION = ".part";
+  private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+  /**
+   * Converts every PDF below the input directory. The ZIPs keep the relative
+   * path of their PDF, e.g. {@code 2024/letter.pdf} becomes
+   * {@code 2024/letter.zip} in the output directory.
+   */
+  public static BatchConversionReport convertDirectory(Path inputDirectory, Path outputDirectory,
+      BatchConversionOptions options) throws IOException {
+    try (Stream<Path> files = Files.walk(inputDirectory)) {
+      Iterator<Path> pdfs = files.filter(file -> Files.isRegularFile(file) && isPdf(file)).iterator();
+      return convert(pdfs, inputDirectory, outputDirectory, options);
+    }
+  }
+
+  /**
+   * Converts the PDFs of the iterator, which is read lazily, so it may be
+   * backed by a directory stream or a database cursor. Every ZIP is named after
+   * the file name of its PDF.
+   */
+  public static BatchConversionReport convert(Iterator<Path> inputs, Path outputDirectory,
+      BatchConversionOptions options) throws IOException {
+    return convert(inputs, null, outputDirectory, options);
+  }
+
+  private static BatchConversionReport convert(Iterator<Path> inputs, Path inputRoot, Path outputDirectory,
+      BatchConversionOptions options) throws IOException {
+    Files.createDirectories(outputDirectory);
+    BatchConversionReport report = new BatchRun(inputs, inputRoot, outputDirectory, options).execute();
+    try (Writer writer = Files.newBufferedWriter(outputDirectory.resolve(REPORT_FILE_NAME))) {
+      report.writeTo(writer);
+    }
+    return report;
+  }
+
+  private static boolean isPdf(Path file) {
+    return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(PDF_EXTENSION);
+  }
+
+  @FunctionalInterface
+  private interface StageWorker {
+    void run() throws InterruptedException;
+  }
+
+  /**
+   * A page on its way from the render to the write stage.
+   */
+  private static final class PageWork {
+    private static final PageWork END = new PageWork(null, -1, null, null);
+
+    private final DocumentJob job;
+    private final int pageIndex;
+    private boolean skipped;
+    private BufferedImage image;
+    private RenderingGovernor.Reservation reservation;
+    private byte[] encoded;
+
+    private PageWork(DocumentJob job, int pageIndex, BufferedImage image, RenderingGovernor.Reservation reservation) {
+      this.job = job;
+      this.pageIndex = pageIndex;
+      this.image = image;
+      this.reservation = reservation;
+    }
+
+    private void release() {
+      if (image != null) {
+        image.flush();
+        image = null;
+      }
+      if (reservation != null) {
+        reservation.close();
+        reservation = null;
+      }
+    }
+  }
+
+  /**
+   * One document of the batch. Its pages are encoded in any order, the ZIP
+   * entries are still written in page order.
+   */
+  private static final class DocumentJob {
+    private static final DocumentJob END = new DocumentJob(null, null, null);
+    private static final byte[] SKIPPED_PAGE = new byte[0];
+
+    private final Path input;
+    private final Path target;
+    private final PdfMetrics.OperationTimer timer;
+    private final Map<Integer, byte[]> pendingPages = new TreeMap<>();
+    private final List<PageFailure> pageFailures = new ArrayList<>();
+    private PDDocument document;
+    private int pageCount;
+    private int nextPage;
+    private CountingOutputStream output;
+    private ZipOutputStream zip;
+    private boolean done;
+
+    private DocumentJob(Path input, Path target, PdfMetrics.OperationTimer timer) {
+      this.input = input;
+      this.target = target;
+      this.timer = timer;
+    }
+
+    private synchronized boolean isDone() {
+      return done;
+    }
+
+    private synchronized void skipPage(PageFailure failure) {
+      pageFailures.add(failure);
+    }
+
+    /**
+     * Writes the page and every page after it that was encoded before. Returns
+     * true once the last page is written and the ZIP is in place.
+     */
+    private synchronized boolean writePage(PageWork page, ImageEncodingOptions options) throws IOException {
+      if (done) {
+        return false;
+      }
+      pendingPages.put(page.pageIndex, page.skipped ? SKIPPED_PAGE : page.encoded);
+      byte[] encoded;
+      while ((encoded = pendingPages.remove(nextPage)) != null) {
+        if (encoded != SKIPPED_PAGE) {
+          PdfService.addToZip(openZip(options), PdfService.getPageFileName(nextPage, options), encoded, options,
+              timer);
+        }
+        nextPage++;
+      }
+      return nextPage == pageCount && finish(options);
+    }
+
+    /**
+     * Closes the ZIP and moves it to the target, unless the job failed in the
+     * meantime. Documents without pages get an empty ZIP.
+     */
+    private synchronized boolean finish(ImageEncodingOptions options) throws IOException {
+      if (done) {
+        return false;
+      }
+      openZip(options).close();
+      Files.move(getPartFile(), target, StandardCopyOption.REPLACE_EXISTING);
+      done = true;
+      return true;
+    }
+
+    /**
+     * Returns false if the job already succeeded or failed before.
+     */
+    private synchronized boolean fail() {
+      if (done) {
+        return false;
+      }
+      done = true;
+      pendingPages.clear();
+      IOUtils.closeQuietly(zip);
+      try {
+        Files.deleteIfExists(getPartFile());
+      } catch (IOException e) {
+        // the next run overwrites it
+      }
+      return true;
+    }
+
+    private ZipOutputStream openZip(ImageEncodingOptions options) throws IOException {
+      if (zip == null) {
+        Files.createDirectories(target.getParent());
+        output = new CountingOutputStream(new BufferedOutputStream(Files.newOutputStream(getPartFile())));
+        zip = PdfService.createZipOutputStream(output, options);
+      }
+      return zip;
+    }
+
+    private Path getPartFile() {
+      return target.resolveSibling(target.getFileName() + PART_EXTENSION);
+    }
+  }
+
+  private static final class BatchRun {
+    private final Iterator<Path> inputs;
+    private final Path inputRoot;
+    private final Path outputDirectory;
+    private final ImageEncodingOptions encoding;
+    private final boolean skipFailedPages;
+    private final BlockingQueue<DocumentJob> loadedDocuments;
+    private final BlockingQueue<PageWork> renderedPages;
+    private final BlockingQueue<PageWork> encodedPages;
+    private final Set<DocumentJob> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<String, List<PageFailure>> pageFailures = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Map<PdfPhase, LongAdder> busyNanos = new EnumMap<>(PdfPhase.class);
+    private final Map<PdfPhase, Integer> stageThreads = new EnumMap<>(PdfPhase.class);
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder pages = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final AtomicBoolean aborted = new AtomicBoolean();
+    private ThreadPoolExecutor executor;
+
+    private BatchRun(Iterator<Path> inputs, Path inputRoot, Path outputDirectory, BatchConversionOptions options) {
+      this.inputs = inputs;
+      this.inputRoot = inputRoot;
+      this.outputDirectory = outputDirectory;
+      this.encoding = options.getEncodingOptions();
+      this.skipFailedPages = options.isSkipFailedPages();
+      int capacity = Math.max(1, options.getQueueCapacity());
+      loadedDocuments = new ArrayBlockingQueue<>(capacity);
+      renderedPages = new ArrayBlockingQueue<>(capacity);
+      encodedPages = new ArrayBlockingQueue<>(capacity);
+      stageThreads.put(PdfPhase.PARSE, Math.max(1, options.getLoadThreads()));
+      stageThreads.put(PdfPhase.RENDER, Math.max(1, options.getRenderThreads()));
+      stageThreads.put(PdfPhase.ENCODE, Math.max(1, options.getEncodeThreads()));
+      stageThreads.put(PdfPhase.ZIP, Math.max(1, options.getWriteThreads()));
+      for (PdfPhase stage : stageThreads.keySet()) {
+        busyNanos.put(stage, new LongAdder());
+      }
+    }
+
+    private BatchConversionReport execute() throws IOException {
+      long start = System.nanoTime();
+      int threads = stageThreads.values().stream().mapToInt(Integer::intValue).sum();
+      ThreadPoolExecutor pool = ExecutorUtils.newBoundedExecutor(threads, threads, "pdf-batch");
+      List<Future<Void>> workers = new ArrayList<>();
+      try {
+        startStage(pool, workers, PdfPhase.PARSE, this::loadDocuments,
+            () -> signalEnd(loadedDocuments, DocumentJob.END, PdfPhase.RENDER));
+        startStage(pool, workers, PdfPhase.RENDER, this::renderDocuments,
+            () -> signalEnd(renderedPages, PageWork.END, PdfPhase.ENCODE));
+        startStage(pool, workers, PdfPhase.ENCODE, this::encodePages,
+            () -> signalEnd(encodedPages, PageWork.END, PdfPhase.ZIP));
+        startStage(pool, workers, PdfPhase.ZIP, this::writePages, () -> {
+        });
+        // a worker that failed while the stages were started could not stop
+        // the pool yet, as later stages would have been discarded
+        synchronized (this) {
+          executor = pool;
+          if (aborted.get()) {
+            pool.shutdownNow();
+          }
+        }
+        awaitAll(workers);
+      } finally {
+        pool.shutdownNow();
+        discardLeftovers();
+      }
+      Map<PdfPhase, Long> busy = new EnumMap<>(PdfPhase.class);
+      busyNanos.forEach((stage, nanos) -> busy.put(stage, nanos.sum()));
+      return new BatchConversionReport(documents.sum(), pages.sum(), bytesIn.sum(), bytesOut.sum(),
+          System.nanoTime() - start, busy, stageThreads, failures, pageFailures);
+    }
+
+    private void startStage(ThreadPoolExecutor executor, List<Future<Void>> workers, PdfPhase stage,
+        StageWorker worker, Runnable onStageEnd) {
+      int threads = stageThreads.get(stage);
+      AtomicInteger running = new AtomicInteger(threads);
+      for (int i = 0; i < threads; i++) {
+        workers.add(executor.submit(() -> {
+          try {
+            worker.run();
+          } catch (InterruptedException e) {
+            abort();
+            Thread.currentThread().interrupt();
+          } catch (RuntimeException | Error e) {
+            abort();
+            throw e;
+          } finally {
+            if (running.decrementAndGet() == 0) {
+              onStageEnd.run();
+            }
+          }
+          return null;
+        }));
+      }
+    }
+
+    /**
+     * Stops the batch once a stage lost a worker: the other workers are
+     * interrupted, so none of them waits for a queue that is never served again.
+     */
+    private void abort() {
+      aborted.set(true);
+      synchronized (this) {
+        if (executor != null) {
+          executor.shutdownNow();
+        }
+      }
+    }
+
+    /**
+     * Waits for every worker, so no thread still touches the output when the
+     * report is written, and rethrows the first failure that was not caused by
+     * a single document.
+     */
+    private static void awaitAll(List<Future<Void>> workers) throws IOException {
+      Exception firstFailure = null;
+      Error firstError = null;
+      for (Future<Void> worker : workers) {
+        try {
+          ExecutorUtils.await(worker);
+        } catch (InterruptedIOException e) {
+          throw e;
+        } catch (IOException | RuntimeException e) {
+          if (firstFailure == null) {
+            firstFailure = e;
+          }
+        } catch (Error e) {
+          if (firstError == null) {
+            firstError = e;
+          }
+        }
+      }
+      if (firstError != null) {
+        throw firstError;
+      }
+      if (firstFailure instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (firstFailure != null) {
+        throw (RuntimeException) firstFailure;
+      }
+    }
+
+    /**
+     * Closes the documents and releases the pages still queued by an aborted
+     * batch, and fails the documents it did not complete.
+     */
+    private void discardLeftovers() {
+      for (DocumentJob job : loadedDocuments) {
+        IOUtils.closeQuietly(job.document);
+      }
+      loadedDocuments.clear();
+      renderedPages.forEach(PageWork::release);
+      renderedPages.clear();
+      encodedPages.clear();
+      for (DocumentJob job : activeJobs) {
+        fail(job, new IOException("The conversion did not complete"), PdfPhase.ZIP);
+      }
+    }
+
+    private <T> void signalEnd(BlockingQueue<T> queue, T end, PdfPhase nextStage) {
+      for (int i = 0; i < stageThreads.get(nextStage); i++) {
+        try {
+          if (!offer(queue, end)) {
+            return;
+          }
+        } catch (InterruptedException e) {
+          abort();
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+
+    private void loadDocuments() throws InterruptedException {
+      while (!aborted.get()) {
+        Path input;
+        synchronized (inputs) {
+          if (!inputs.hasNext()) {
+            return;
+          }
+          input = inputs.next();
+        }
+        DocumentJob job = new DocumentJob(input, resolveTarget(input), PdfMetrics.start(OPERATION));
+        activeJobs.add(job);
+        documents.increment();
+        long loadStart = System.nanoTime();
+        try {
+          PdfSource source = PdfSource.of(input);
+          job.document = job.timer.loadForReading(source);
+          job.pageCount = job.document.getNumberOfPages();
+          bytesIn.add(source.getLength());
+        } catch (IOException | RuntimeException e) {
+          fail(job, e, PdfPhase.PARSE);
+          continue;
+        } finally {
+          addBusyTime(PdfPhase.PARSE, loadStart);
+        }
+        boolean queued = false;
+        try {
+          queued = offer(loadedDocuments, job);
+        } finally {
+          if (!queued) {
+            IOUtils.closeQuietly(job.document);
+          }
+        }
+      }
+    }
+
+    private void renderDocuments() throws InterruptedException {
+      DocumentJob job;
+      while ((job = loadedDocuments.take()) != DocumentJob.END) {
+        try (PDDocument document = job.document) {
+          if (job.pageCount == 0 && job.finish(encoding)) {
+            succeeded(job);
+          }
+          PDFRenderer renderer = new PDFRenderer(document);
+          for (int i = 0; i < job.pageCount && !job.isDone(); i++) {
+            PageWork page = new PageWork(job, i, null, null);
+            long renderStart = System.nanoTime();
+            try {
+              page.reservation = PdfService.reserveRenderMemory(document.getPage(i), encoding);
+              page.image = renderer.renderImageWithDPI(i, encoding.getDpi(), encoding.getImageType());
+              job.timer.phase(PdfPhase.RENDER, renderStart);
+              job.timer.pageImage(page.image.getWidth(), page.image.getHeight());
+            } catch (IOException | RuntimeException e) {
+              if (!skipFailedPages) {
+                throw e;
+              }
+              page.skipped = true;
+              job.skipPage(new PageFailure(i, PdfService.classifyError(e, PdfPhase.RENDER),
+                  PdfService.describeError(e)));
+            } finally {
+              addBusyTime(PdfPhase.RENDER, renderStart);
+              if (page.image == null) {
+                page.release();
+              }
+            }
+            boolean queued = false;
+            try {
+              queued = offer(renderedPages, page);
+            } finally {
+              if (!queued) {
+                page.release();
+              }
+            }
+            if (!queued) {
+              return;
+            }
+          }
+        } catch (IOException | RuntimeException e) {
+          fail(job, e, PdfPhase.RENDER);
+        } finally {
+          job.document = null;
+        }
+      }
+    }
+
+    private void encodePages() throws InterruptedException {
+      PageWork page;
+      while ((page = renderedPages.take()) != PageWork.END) {
+        if (page.job.isDone()) {
+          page.release();
+          continue;
+        }
+        if (page.skipped) {
+          if (!offer(encodedPages, page)) {
+            return;
+          }
+          continue;
+        }
+        long encodeStart = System.nanoTime();
+        try {
+          page.encoded = ImageEncoder.encode(page.image, encoding);
+          page.job.timer.phase(PdfPhase.ENCODE, encodeStart);
+        } catch (IOException | RuntimeException e) {
+          fail(page.job, e, PdfPhase.ENCODE);
+          continue;
+        } finally {
+          page.release();
+          addBusyTime(PdfPhase.ENCODE, encodeStart);
+        }
+        if (!offer(encodedPages, page)) {
+          return;
+        }
+      }
+    }
+
+    private void writePages() throws InterruptedException {
+      PageWork page;
+      while ((page = encodedPages.take()) != PageWork.END) {
+        long writeStart = System.nanoTime();
+        try {
+          if (page.job.writePage(page, encoding)) {
+            succeeded(page.job);
+          }
+        } catch (IOException | RuntimeException e) {
+          fail(page.job, e, PdfPhase.ZIP);
+        } finally {
+          addBusyTime(PdfPhase.ZIP, writeStart);
+        }
+      }
+    }
+
+    /**
+     * Puts the element into the queue unless the batch is aborted while
+     * waiting for room, e.g. because all workers of the next stage died.
+     */
+    private <T> boolean offer(BlockingQueue<T> queue, T element) throws InterruptedException {
+      while (!aborted.get()) {
+        if (queue.offer(element, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private void succeeded(DocumentJob job) {
+      activeJobs.remove(job);
+      int convertedPages = job.pageCount - job.pageFailures.size();
+      if (!job.pageFailures.isEmpty()) {
+        pageFailures.put(job.input.toString(), job.pageFailures);
+      }
+      pages.add(convertedPages);
+      bytesOut.add(job.output.getCount());
+      job.timer.setPages(convertedPages);
+      job.timer.setBytesOut(job.output.getCount());
+      job.timer.succeeded();
+    }
+
+    private void fail(DocumentJob job, Exception error, PdfPhase stage) {
+      if (job.fail()) {
+        activeJobs.remove(job);
+        failures.put(job.input.toString(),
+            PdfService.classifyError(error, stage) + " " + PdfService.describeError(error));
+        job.timer.failed(error);
+      }
+    }
+
+    private void addBusyTime(PdfPhase stage, long startNanos) {
+      busyNanos.get(stage).add(System.nanoTime() - startNanos);
+    }
+
+    private Path resolveTarget(Path input) {
+      Path relative = inputRoot == null ? input.getFileName() : inputRoot.relativize(input);
+      String fileName = relative.getFileName().toString();
+      String baseName = isPdf(relative) ? fileName.substring(0, fileName.length() - PDF_EXTENSION.length())
+          : fileName;
+      return outputDirectory.resolve(relative).resolveSibling(baseName + ZIP_EXTENSION);
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessStreamCache.StreamCacheCreateFunction;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.multipdf.Splitter;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.axonivy.utils.pdfbox.model.PdfSource;
+
+/**
+ * Merges many documents into one and splits one document into chunks with
+ * bounded heap usage. Stream data of the result is kept in the scratch storage
+ * of the {@link MemoryUsageSetting}, a temp file by default, and only one
+ * input document or output chunk is open at a time.
+ */
+public class PdfMergeSplitService {
+
+  /**
+   * Receives every chunk of a split. The chunk is closed after the call
+   * returns.
+   */
+  @FunctionalInterface
+  public interface ChunkSink {
+    void accept(int chunkIndex, PDDocument chunk) throws IOException;
+
+    static ChunkSink toDirectory(Path directory, String fileNamePattern) {
+      return (chunkIndex, chunk) -> chunk
+          .save(directory.resolve(String.format(fileNamePattern, chunkIndex + 1)).toFile());
+    }
+  }
+
+  public static void merge(List<PdfSource> sources, OutputStream output) throws IOException {
+    merge(sources.iterator(), output, MemoryUsageSetting.setupTempFileOnly());
+  }
+
+  /**
+   * Appends the documents of the iterator in order and writes the merged
+   * document to the output. Sources are pulled and loaded one by one and closed
+   * right after they were appended, so the iterator may produce them lazily,
+   * e.g. from a directory listing or a database cursor.
+   */
+  public static void merge(Iterator<PdfSource> sources, OutputStream output, MemoryUsageSetting memoryUsage)
+      throws IOException {
+    PDFMergerUtility merger = new PDFMergerUtility();
+    try (PDDocument destination = new PDDocument(memoryUsage.streamCache)) {
+      FormMerger forms = new FormMerger(destination);
+      while (sources.hasNext()) {
+        try (PDDocument source = sources.next().load()) {
+          int firstPage = destination.getNumberOfPages();
+          boolean detached = forms.detach(source);
+          merger.appendDocument(destination, source);
+          if (detached) {
+            forms.attach(firstPage);
+          }
+        }
+      }
+      destination.save(output);
+    }
+  }
+
+  public static void split(PdfSource source, int pagesPerChunk, ChunkSink sink) throws IOException {
+    split(source, pagesPerChunk, sink, MemoryUsageSetting.setupTempFileOnly());
+  }
+
+  /**
+   * Splits the document into chunks of the given number of pages. The last
+   * chunk may be shorter.
+   */
+  public static void split(PdfSource source, int pagesPerChunk, ChunkSink sink, MemoryUsageSetting memoryUsage)
+      throws IOException {
+    if (pagesPerChunk <= 0) {
+      throw new IllegalArgumentException("A chunk needs at least one page");
+    }
+    try (PDDocument document = source.load()) {
+      List<Integer> chunkStarts = new ArrayList<>();
+      for (int start = 0; start < document.getNumberOfPages(); start += pagesPerChunk) {
+        chunkStarts.add(start);
+      }
+      split(document, chunkStarts, sink, memoryUsage);
+    }
+  }
+
+  /**
+   * Splits the document into chunks that start at the given zero based page
+   * indexes, e.g. at the first page of every scanned letter. Pages before the
+   * first index are skipped.
+   */
+  public static void split(PdfSource source, List<Integer> chunkStarts, ChunkSink sink,
+      MemoryUsageSetting memoryUsage) throws IOException {
+    try (PDDocument document = source.load()) {
+      split(document, chunkStarts, sink, memoryUsage);
+    }
+  }
+
+  private static void split(PDDocument document, List<Integer> chunkStarts, ChunkSink sink,
+      MemoryUsageSetting memoryUsage) throws IOException {
+    int pageCount = document.getNumberOfPages();
+    for (int i = 0; i < chunkStarts.size(); i++) {
+      int start = chunkStarts.get(i);
+      int end = i + 1 < chunkStarts.size() ? chunkStarts.get(i + 1) : pageCount;
+      if (start < 0 || start >= end || end > pageCount) {
+        throw new IllegalArgumentException(
+            String.format("Chunk starts must be ascending page indexes below %d: %s", pageCount, chunkStarts));
+      }
+      try (PDDocument chunk = extractChunk(document, start, end, memoryUsage.streamCache)) {
+        sink.accept(i, chunk);
+      }
+    }
+  }
+
+  /**
+   * Lets the {@link Splitter} copy only the pages of one chunk, so a single
+   * chunk is in memory at a time instead of all of them.
+   */
+  private static PDDocument extractChunk(PDDocument document, int start, int end,
+      StreamCacheCreateFunction streamCache) throws IOException {
+    Splitter splitter = new Splitter();
+    splitter.setStreamCacheCreateFunction(streamCache);
+    splitter.setStartPage(start + 1);
+    splitter.setEndPage(end);
+    splitter.setSplitAtPage(end - start);
+    List<PDDocument> chunks = splitter.split(document);
+    for (int i = 1; i < chunks.size(); i++) {
+      chunks.get(i).close();
+    }
+    return chunks.get(0);
+  }
+
+  /**
+   * The {@link PDFMergerUtility} walks the whole field tree of the merged
+   * document for every appended form, which makes merging many forms
+   * quadratic. Instead the form of a source is detached from its catalog and
+   * parked on its first page, so the merger clones it together with the page
+   * and its widgets. Afterwards its root fields are added to the merged form in
+   * constant time per field. Root names that already exist get the number of
+   * the document as suffix, so equally named fields keep their own values.
+   */
+  private static final class FormMerger {
+    private static final COSName DETACHED_FORM = COSName.getPDFName("AxonIvyDetachedAcroForm");
+
+    private final PDDocument destination;
+    private final Set<String> rootNames = new HashSet<>();
+    private int documentNumber;
+
+    private FormMerger(PDDocument destination) {
+      this.destination = destination;
+    }
+
+    private boolean detach(PDDocument source) {
+      documentNumber++;
+      COSDictionary catalog = source.getDocumentCatalog().getCOSObject();
+      COSDictionary acroForm = catalog.getCOSDictionary(COSName.ACRO_FORM);
+      if (acroForm == null || source.getNumberOfPages() == 0) {
+        return false;
+      }
+      catalog.removeItem(COSName.ACRO_FORM);
+      source.getPage(0).getCOSObject().setItem(DETACHED_FORM, acroForm);
+      return true;
+    }
+
+    private void attach(int firstPage) {
+      COSDictionary page = destination.getPage(firstPage).getCOSObject();
+      COSDictionary acroForm = page.getCOSDictionary(DETACHED_FORM);
+      page.removeItem(DETACHED_FORM);
+      if (acroForm == null) {
+        return;
+      }
+      COSDictionary catalog = destination.getDocumentCatalog().getCOSObject();
+      COSDictionary target = catalog.getCOSDictionary(COSName.ACRO_FORM);
+      COSArray fields = acroForm.getCOSArray(COSName.FIELDS);
+      if (target == null) {
+        acroForm.removeItem(COSName.XFA);
+        acroForm.setItem(COSName.FIELDS, new COSArray());
+        catalog.setItem(COSName.ACRO_FORM, acroForm);
+        target = acroForm;
+      } else {
+        mergeDefaultResources(target, acroForm);
+      }
+      if (fields != null) {
+        COSArray targetFields = target.getCOSArray(COSName.FIELDS);
+        for (int i = 0; i < fields.size(); i++) {
+          if (fields.getObject(i) instanceof COSDictionary field) {
+            rename(field);
+            targetFields.add(field);
+          }
+        }
+      }
+    }
+
+    private void rename(COSDictionary field) {
+      String name = field.getString(COSName.T);
+      if (name == null || rootNames.add(name)) {
+        return;
+      }
+      String unique = name + "_" + documentNumber;
+      for (int i = 2; !rootNames.add(unique); i++) {
+        unique = name + "_" + documentNumber + "_" + i;
+      }
+      field.setString(COSName.T, unique);
+    }
+
+    /**
+     * Adds the fonts of a later form that the merged form does not know yet, so
+     * their default appearances still resolve.
+     */
+    private static void mergeDefaultResources(COSDictionary target, COSDictionary acroForm) {
+      COSDictionary resources = acroForm.getCOSDictionary(COSName.DR);
+      COSDictionary fonts = resources == null ? null : resources.getCOSDictionary(COSName.FONT);
+      if (fonts == null) {
+        return;
+      }
+      COSDictionary targetResources = target.getCOSDictionary(COSName.DR);
+      if (targetResources == null) {
+        target.setItem(COSName.DR, resources);
+        return;
+      }
+      COSDictionary targetFonts = targetResources.getCOSDictionary(COSName.FONT);
+      if (targetFonts == null) {
+        targetResources.setItem(COSName.FONT, fonts);
+        return;
+      }
+      for (COSName fontName : fonts.keySet()) {
+        if (!targetFonts.containsKey(fontName)) {
+          targetFonts.setItem(fontName, fonts.getItem(fontName));
+        }
+      }
+    }
+  }
+}
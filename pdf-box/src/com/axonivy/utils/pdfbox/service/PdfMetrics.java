@@ -0,0 +1,119 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.util.Objects;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+
+/**
+ * Holds the {@link PdfMetricsListener} the services report to. Nothing is
+ * recorded until a listener is set, e.g. an {@link InMemoryPdfMetrics}.
+ */
+public class PdfMetrics {
+  private static volatile PdfMetricsListener listener = PdfMetricsListener.NONE;
+
+  @FunctionalInterface
+  interface TimedOperation<T> {
+    T run(OperationTimer timer) throws IOException;
+  }
+
+  public static PdfMetricsListener getListener() {
+    return listener;
+  }
+
+  public static void setListener(PdfMetricsListener listener) {
+    PdfMetrics.listener = Objects.requireNonNull(listener);
+  }
+
+  /**
+   * Starts timing an operation that does not end within one method call, e.g.
+   * a lazy stream. The caller reports the outcome.
+   */
+  static OperationTimer start(String operation) {
+    return new OperationTimer(operation, listener);
+  }
+
+  /**
+   * Runs the operation and reports its duration, or its failure if it throws.
+   */
+  static <T> T record(String operation, TimedOperation<T> timedOperation) throws IOException {
+    OperationTimer timer = new OperationTimer(operation, listener);
+    try {
+      T result = timedOperation.run(timer);
+      timer.succeeded();
+      return result;
+    } catch (IOException | RuntimeException | Error e) {
+      timer.failed(e);
+      throw e;
+    }
+  }
+
+  /**
+   * Times one call of a service operation. The listener is fixed when the
+   * operation starts, so a listener swapped in the meantime does not get half
+   * an operation.
+   */
+  static final class OperationTimer {
+    private final String operation;
+    private final PdfMetricsListener listener;
+    private final long startNanos = System.nanoTime();
+    private int pages;
+    private long bytesIn = -1;
+    private long bytesOut = -1;
+
+    private OperationTimer(String operation, PdfMetricsListener listener) {
+      this.operation = operation;
+      this.listener = listener;
+    }
+
+    /**
+     * Loads the source and reports the parse time and the size of the PDF.
+     */
+    PDDocument load(PdfSource source) throws IOException {
+      long parseStart = System.nanoTime();
+      PDDocument document = source.load();
+      phase(PdfPhase.PARSE, parseStart);
+      bytesIn = source.getLength();
+      return document;
+    }
+
+    /**
+     * Loads the source for rendering or text extraction, which takes its fonts
+     * from the global {@link SharedResourceCache}.
+     */
+    PDDocument loadForReading(PdfSource source) throws IOException {
+      return SharedResourceCache.getGlobal().attach(load(source));
+    }
+
+    void phase(PdfPhase phase, long phaseStartNanos) {
+      listener.onPhase(operation, phase, System.nanoTime() - phaseStartNanos);
+    }
+
+    void pageImage(int width, int height) {
+      listener.onPageImage(operation, width, height);
+    }
+
+    void setPages(int pages) {
+      this.pages = pages;
+    }
+
+    void setBytesIn(long bytesIn) {
+      this.bytesIn = bytesIn;
+    }
+
+    void setBytesOut(long bytesOut) {
+      this.bytesOut = bytesOut;
+    }
+
+    void succeeded() {
+      listener.onOperation(operation, System.nanoTime() - startNanos, pages, bytesIn, bytesOut);
+    }
+
+    void failed(Throwable error) {
+      listener.onFailure(operation, error);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.axonivy.utils.pdfbox.service;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+
+/**
+ * Receives timings and sizes from the services. Operations are named after the
+ * public method that was called, e.g. {@code writeZippedImagesFromPdf}.
+ * Listeners are called from rendering workers as well, so implementations must
+ * be thread-safe and fast. All methods do nothing by default.
+ */
+public interface PdfMetricsListener {
+  PdfMetricsListener NONE = new PdfMetricsListener() {};
+
+  /**
+   * Time of one phase of an operation, e.g. rendering a single page.
+   */
+  default void onPhase(String operation, PdfPhase phase, long nanos) {}
+
+  /**
+   * A completed operation.
+   *
+   * @param bytesIn size of the PDF that was read, -1 if unknown
+   * @param bytesOut bytes written to the output, -1 if the operation has none
+   */
+  default void onOperation(String operation, long nanos, int pages, long bytesIn, long bytesOut) {}
+
+  default void onPageImage(String operation, int width, int height) {}
+
+  default void onFailure(String operation, Throwable error) {}
+}
@@ -0,0 +1,173 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
+import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.pdmodel.interactive.form.PDNonTerminalField;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.RenderedPage;
+import com.axonivy.utils.pdfbox.utils.CountingOutputStream;
+
+/**
+ * Runs several operations over a document that is loaded only once, e.g.
+ * reading the form values, filling the form, rendering a preview of every page
+ * and saving the result. Stages run in the order they were added. Consecutive
+ * page stages, i.e. rendering and text extraction, share one pass over the
+ * pages, so every page is rendered and stripped before the next one is
+ * touched. A configured pipeline can be run for many sources, also
+ * concurrently. Pipelines that do not fill the form take their fonts from the
+ * {@link SharedResourceCache}.
+ */
+public class PdfPipeline {
+
+  @FunctionalInterface
+  public interface RenderedPageSink {
+    void accept(RenderedPage page) throws IOException;
+  }
+
+  /**
+   * Receives the values of all terminal fields by fully qualified name.
+   */
+  @FunctionalInterface
+  public interface FormValuesSink {
+    void accept(Map<String, String> values) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface DocumentStage {
+    void apply(PDDocument document, PdfMetrics.OperationTimer timer) throws IOException;
+  }
+
+  /**
+   * Creates the per run state of a page stage, e.g. the renderer, once per
+   * document.
+   */
+  @FunctionalInterface
+  private interface PageStage {
+    PageAction start(PDDocument document, PdfMetrics.OperationTimer timer) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface PageAction {
+    void apply(int pageIndex) throws IOException;
+  }
+
+  private static final class Stage {
+    private final DocumentStage documentStage;
+    private final PageStage pageStage;
+
+    private Stage(DocumentStage documentStage, PageStage pageStage) {
+      this.documentStage = documentStage;
+      this.pageStage = pageStage;
+    }
+  }
+
+  private final List<Stage> stages = new ArrayList<>();
+  private boolean modifiesDocument;
+
+  public PdfPipeline readFormValues(FormValuesSink sink) {
+    return addDocumentStage((document, timer) -> sink.accept(readFormValues(document)));
+  }
+
+  public PdfPipeline fillAcroForm(Map<String, String> data, AcroFormFillMode fillMode) {
+    modifiesDocument = true;
+    return addDocumentStage((document, timer) -> PdfService.fillAcroForm(document, data, fillMode, timer));
+  }
+
+  public PdfPipeline renderPages(ImageEncodingOptions options, RenderedPageSink sink) {
+    return addPageStage((document, timer) -> {
+      PDFRenderer renderer = new PDFRenderer(document);
+      return pageIndex -> sink.accept(PdfService.renderPage(document, renderer, pageIndex, options, timer));
+    });
+  }
+
+  public PdfPipeline extractText(PdfTextService.PageTextConsumer consumer) {
+    return addPageStage((document, timer) -> {
+      PDFTextStripper stripper = new PDFTextStripper();
+      return pageIndex -> consumer.accept(pageIndex,
+          PdfTextService.extractPageText(stripper, document, pageIndex, timer));
+    });
+  }
+
+  /**
+   * Saves the document as it is at this point of the pipeline. The output is
+   * not closed.
+   */
+  public PdfPipeline save(OutputStream output) {
+    return addDocumentStage((document, timer) -> {
+      long saveStart = System.nanoTime();
+      CountingOutputStream countingOutput = new CountingOutputStream(output);
+      document.save(countingOutput);
+      timer.phase(PdfPhase.SAVE, saveStart);
+      timer.setBytesOut(countingOutput.getCount());
+    });
+  }
+
+  public void run(PdfSource source) throws IOException {
+    PdfMetrics.record("pipeline", timer -> {
+      try (PDDocument document = modifiesDocument ? timer.load(source) : timer.loadForReading(source)) {
+        List<PageAction> pagePass = new ArrayList<>();
+        for (Stage stage : stages) {
+          if (stage.pageStage != null) {
+            pagePass.add(stage.pageStage.start(document, timer));
+            continue;
+          }
+          runPagePass(document, pagePass, timer);
+          pagePass.clear();
+          stage.documentStage.apply(document, timer);
+        }
+        runPagePass(document, pagePass, timer);
+      }
+      return null;
+    });
+  }
+
+  private PdfPipeline addDocumentStage(DocumentStage documentStage) {
+    stages.add(new Stage(documentStage, null));
+    return this;
+  }
+
+  private PdfPipeline addPageStage(PageStage pageStage) {
+    stages.add(new Stage(null, pageStage));
+    return this;
+  }
+
+  private static void runPagePass(PDDocument document, List<PageAction> pagePass, PdfMetrics.OperationTimer timer)
+      throws IOException {
+    if (pagePass.isEmpty()) {
+      return;
+    }
+    timer.setPages(document.getNumberOfPages());
+    for (int i = 0; i < document.getNumberOfPages(); i++) {
+      for (PageAction action : pagePass) {
+        action.apply(i);
+      }
+    }
+  }
+
+  private static Map<String, String> readFormValues(PDDocument document) {
+    Map<String, String> values = new LinkedHashMap<>();
+    PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+    if (acroForm != null) {
+      for (PDField field : acroForm.getFieldTree()) {
+        if (!(field instanceof PDNonTerminalField)) {
+          values.put(field.getFullyQualifiedName(), field.getValueAsString());
+        }
+      }
+    }
+    return values;
+  }
+}
@@ -1,38 +1,117 @@
 package com.axonivy.utils.pdfbox.service;
 
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
-import javax.imageio.ImageIO;
+import javax.imageio.stream.FileCacheImageOutputStream;
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageOutputStream;
 
-import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.RandomAccessRead;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationWidget;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceDictionary;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceEntry;
 import org.apache.pdfbox.pdmodel.interactive.form.PDAcroForm;
 import org.apache.pdfbox.pdmodel.interactive.form.PDField;
+import org.apache.pdfbox.rendering.ImageType;
 import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.rendering.RenderDestination;
+
+import com.axonivy.utils.pdfbox.enums.AcroFormFillMode;
+import com.axonivy.utils.pdfbox.enums.PdfErrorType;
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.ConversionResult;
+import com.axonivy.utils.pdfbox.model.FormFieldSchema;
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+import com.axonivy.utils.pdfbox.model.PageFailure;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.model.PixelBufferOptions;
+import com.axonivy.utils.pdfbox.model.PixelPage;
+import com.axonivy.utils.pdfbox.model.RenderedPage;
+import com.axonivy.utils.pdfbox.model.ThumbnailOptions;
+import com.axonivy.utils.pdfbox.model.TileOptions;
+import com.axonivy.utils.pdfbox.model.TiffOptions;
+import com.axonivy.utils.pdfbox.utils.CountingOutputStream;
+import com.axonivy.utils.pdfbox.utils.ExecutorUtils;
+import com.axonivy.utils.pdfbox.utils.ImageEncoder;
+import com.axonivy.utils.pdfbox.utils.PixelBuffers;
+import com.axonivy.utils.pdfbox.utils.TiffSequenceWriter;
 
 import ch.ivyteam.ivy.environment.Ivy;
 
 public class PdfService {
-  private static final int DEFAULT_DPI = 150;
   private static final String SEPARATED_IMAGE_PATTERN = "page_%03d.%s";
+  private static final String TILE_IMAGE_PATTERN = "page_%03d_tile_%03d_%03d.%s";
+  private static final float POINTS_PER_INCH = 72;
+
+  /**
+   * Is told after every page written to the output, and once with zero
+   * completed pages as soon as the page count is known. Throwing aborts the
+   * conversion, which is how long running jobs are cancelled.
+   */
+  @FunctionalInterface
+  public interface ProgressListener {
+    void onProgress(int completedPages, int pageCount) throws IOException;
+  }
 
+  @FunctionalInterface
+  public interface PixelPageSink {
+    void accept(PixelPage page) throws IOException;
+  }
+
+  /**
+   * Returns an empty array if the conversion fails. Use
+   * {@link #convertToZippedImages(PdfSource, ImageEncodingOptions, boolean)} to
+   * learn why and to keep the pages that could be converted.
+   */
   public static byte[] createZippedImagesFromPdf(byte[] bytes, String imageFormat, int dpi) {
-    int useDpi = dpi <= 0 ? DEFAULT_DPI : dpi;
-    try (PDDocument document = Loader.loadPDF(bytes);
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zos = new ZipOutputStream(baos)) {
-      PDFRenderer pdfRenderer = new PDFRenderer(document);
-      for (int i = 0; i < document.getNumberOfPages(); i++) {
-        BufferedImage image = pdfRenderer.renderImageWithDPI(i, useDpi);
-        String fileName = String.format(SEPARATED_IMAGE_PATTERN, i + 1, imageFormat);
-        addToZip(zos, fileName, image, imageFormat);
-      }
-      zos.finish();
+    return createZippedImagesFromPdf(bytes, imageFormat, dpi, 1);
+  }
+
+  public static byte[] createZippedImagesFromPdf(byte[] bytes, String imageFormat, int dpi, int parallelism) {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      writeZippedImagesFromPdf(bytes, imageFormat, dpi, parallelism, baos);
       return baos.toByteArray();
     } catch (IOException e) {
       Ivy.log().warn("Can not create Zip from current file", e);
@@ -40,26 +119,980 @@ public class PdfService {
     }
   }
 
-  private static void addToZip(ZipOutputStream zos, String fileName, BufferedImage image, String format)
+  /**
+   * Renders every page of the PDF and writes it as a ZIP entry to the given
+   * stream as soon as it is encoded, so only one page image is held in memory
+   * at a time. The stream is not closed.
+   */
+  public static void writeZippedImagesFromPdf(byte[] bytes, String imageFormat, int dpi, OutputStream output)
+      throws IOException {
+    writeZippedImagesFromPdf(bytes, imageFormat, dpi, 1, output);
+  }
+
+  /**
+   * Same as {@link #writeZippedImagesFromPdf(byte[], String, int, OutputStream)}
+   * but renders up to {@code parallelism} pages at once. The ZIP entries are
+   * still written in page order.
+   */
+  public static void writeZippedImagesFromPdf(byte[] bytes, String imageFormat, int dpi, int parallelism,
+      OutputStream output) throws IOException {
+    writeZippedImagesFromPdf(PdfSource.of(bytes), imageFormat, dpi, parallelism, output);
+  }
+
+  public static void writeZippedImagesFromPdf(byte[] bytes, String imageFormat, int dpi,
+      WritableByteChannel channel) throws IOException {
+    writeZippedImagesFromPdf(bytes, imageFormat, dpi, Channels.newOutputStream(channel));
+  }
+
+  public static void writeZippedImagesFromPdf(Path path, String imageFormat, int dpi, OutputStream output)
+      throws IOException {
+    writeZippedImagesFromPdf(PdfSource.of(path), imageFormat, dpi, 1, output);
+  }
+
+  public static void writeZippedImagesFromPdf(File file, String imageFormat, int dpi, OutputStream output)
+      throws IOException {
+    writeZippedImagesFromPdf(PdfSource.of(file), imageFormat, dpi, 1, output);
+  }
+
+  public static void writeZippedImagesFromPdf(RandomAccessRead randomAccessRead, String imageFormat, int dpi,
+      OutputStream output) throws IOException {
+    writeZippedImagesFromPdf(PdfSource.of(randomAccessRead), imageFormat, dpi, 1, output);
+  }
+
+  /**
+   * Renders the PDF described by the source. Sources that can only be loaded
+   * once are always rendered sequentially.
+   */
+  public static void writeZippedImagesFromPdf(PdfSource source, String imageFormat, int dpi, int parallelism,
+      OutputStream output) throws IOException {
+    writeZippedImagesFromPdf(source, new ImageEncodingOptions(imageFormat, dpi), parallelism, output);
+  }
+
+  public static byte[] createZippedImagesFromPdf(byte[] bytes, ImageEncodingOptions options) {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      writeZippedImagesFromPdf(PdfSource.of(bytes), options, 1, baos);
+      return baos.toByteArray();
+    } catch (IOException e) {
+      Ivy.log().warn("Can not create Zip from current file", e);
+      return new byte[0];
+    }
+  }
+
+  /**
+   * Converts the document to a ZIP of page images and reports failures instead
+   * of throwing them. A failing page stops the conversion, and the result keeps
+   * the pages converted before it. With {@code skipFailedPages} the failing page
+   * is left out of the ZIP and the remaining pages are still converted, so one
+   * broken page does not cost the whole document. Broken cross reference tables
+   * are repaired while loading in both modes.
+   */
+  public static ConversionResult convertToZippedImages(PdfSource source, ImageEncodingOptions options,
+      boolean skipFailedPages) {
+    PdfMetrics.OperationTimer timer = PdfMetrics.start("convertToZippedImages");
+    PDDocument document;
+    try {
+      document = timer.loadForReading(source);
+    } catch (IOException | RuntimeException e) {
+      timer.failed(e);
+      return ConversionResult.failed(classifyError(e, PdfPhase.PARSE), describeError(e));
+    }
+    int pageCount = document.getNumberOfPages();
+    List<PageFailure> pageFailures = new ArrayList<>();
+    PageFailure stopFailure = null;
+    Exception stopError = null;
+    int convertedPages = 0;
+    try (document; ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      ZipOutputStream zos = createZipOutputStream(baos, options);
+      PDFRenderer pdfRenderer = new PDFRenderer(document);
+      for (int i = 0; i < pageCount && stopError == null; i++) {
+        PdfPhase phase = PdfPhase.RENDER;
+        try {
+          RenderingGovernor.Reservation reservation = reserveRenderMemory(document.getPage(i), options);
+          byte[] encoded;
+          try {
+            long renderStart = System.nanoTime();
+            BufferedImage image = pdfRenderer.renderImageWithDPI(i, options.getDpi(), options.getImageType());
+            timer.phase(PdfPhase.RENDER, renderStart);
+            timer.pageImage(image.getWidth(), image.getHeight());
+            phase = PdfPhase.ENCODE;
+            long encodeStart = System.nanoTime();
+            encoded = ImageEncoder.encode(image, options);
+            timer.phase(PdfPhase.ENCODE, encodeStart);
+            image.flush();
+          } finally {
+            reservation.close();
+          }
+          phase = PdfPhase.ZIP;
+          addToZip(zos, getPageFileName(i, options), encoded, options, timer);
+          convertedPages++;
+        } catch (IOException | RuntimeException e) {
+          PageFailure failure = new PageFailure(i, classifyError(e, phase), describeError(e));
+          pageFailures.add(failure);
+          if (!skipFailedPages) {
+            stopFailure = failure;
+            stopError = e;
+          }
+        }
+      }
+      zos.finish();
+      timer.setPages(convertedPages);
+      timer.setBytesOut(baos.size());
+      if (stopError == null) {
+        timer.succeeded();
+        return new ConversionResult(baos.toByteArray(), pageCount, convertedPages, null, null, pageFailures);
+      }
+      timer.failed(stopError);
+      return new ConversionResult(baos.toByteArray(), pageCount, convertedPages, stopFailure.getErrorType(),
+          stopFailure.getMessage(), pageFailures);
+    } catch (IOException e) {
+      timer.failed(e);
+      return ConversionResult.failed(classifyError(e, PdfPhase.ZIP), describeError(e));
+    }
+  }
+
+  /**
+   * Classifies a failure by its type and by the phase it happened in. Only
+   * loading and rendering read the content of the document, so a failure in a
+   * later phase is not blamed on the file.
+   */
+  static PdfErrorType classifyError(Throwable error, PdfPhase phase) {
+    if (error instanceof InvalidPasswordException) {
+      return PdfErrorType.ENCRYPTED;
+    }
+    if (error instanceof RenderingGovernor.RenderingBudgetExceededException budgetError) {
+      return budgetError.isLargerThanBudget() ? PdfErrorType.PAGE_TOO_LARGE : PdfErrorType.MEMORY_BUDGET_EXCEEDED;
+    }
+    if (error instanceof FileSystemException || error instanceof FileNotFoundException
+        || error instanceof InterruptedIOException) {
+      return PdfErrorType.IO_ERROR;
+    }
+    return phase == PdfPhase.PARSE || phase == PdfPhase.RENDER ? PdfErrorType.MALFORMED : PdfErrorType.IO_ERROR;
+  }
+
+  static String describeError(Throwable error) {
+    return error.getClass().getSimpleName() + ": " + error.getMessage();
+  }
+
+  /**
+   * Renders and encodes every page as configured by the options, e.g. 8-bit
+   * gray JPEGs with a given quality stored uncompressed in the ZIP.
+   */
+  public static void writeZippedImagesFromPdf(PdfSource source, ImageEncodingOptions options, int parallelism,
+      OutputStream output) throws IOException {
+    writeZippedImagesFromPdf(source, options, parallelism, null, output);
+  }
+
+  /**
+   * Same as {@link #writeZippedImagesFromPdf(PdfSource, ImageEncodingOptions, int, OutputStream)}
+   * but takes encoded pages from the cache and adds newly rendered ones to it.
+   * When every page of the document is cached the PDF is not even parsed.
+   */
+  public static void writeZippedImagesFromPdf(PdfSource source, ImageEncodingOptions options, int parallelism,
+      PageImageCache cache, OutputStream output) throws IOException {
+    writeZippedImagesFromPdf(source, options, parallelism, cache, output, null);
+  }
+
+  /**
+   * Same as {@link #writeZippedImagesFromPdf(PdfSource, ImageEncodingOptions, int, PageImageCache, OutputStream)}
+   * but reports every page written to the ZIP to the listener.
+   */
+  public static void writeZippedImagesFromPdf(PdfSource source, ImageEncodingOptions options, int parallelism,
+      PageImageCache cache, OutputStream output, ProgressListener listener) throws IOException {
+    PdfMetrics.record("writeZippedImagesFromPdf", timer -> {
+      CountingOutputStream countingOutput = new CountingOutputStream(output);
+      timer.setPages(writeZippedImages(source, options, parallelism, cache, countingOutput, listener, timer));
+      timer.setBytesOut(countingOutput.getCount());
+      return null;
+    });
+  }
+
+  private static int writeZippedImages(PdfSource source, ImageEncodingOptions options, int parallelism,
+      PageImageCache cache, OutputStream output, ProgressListener listener, PdfMetrics.OperationTimer timer)
+      throws IOException {
+    String contentHash = cache == null ? null : source.getContentHash();
+    if (cache != null && writeCachedPages(source, cache, contentHash, options, output, listener, timer)) {
+      return cache.getPageCount(contentHash);
+    }
+    if (parallelism > 1 && source.isReloadable()) {
+      return writeZippedImagesInParallel(source, options, parallelism, cache, contentHash, output, listener, timer);
+    }
+    try (PDDocument document = timer.loadForReading(source)) {
+      ZipOutputStream zos = createZipOutputStream(output, options);
+      PDFRenderer pdfRenderer = new PDFRenderer(document);
+      int pageCount = document.getNumberOfPages();
+      notifyProgress(listener, 0, pageCount);
+      for (int i = 0; i < pageCount; i++) {
+        byte[] cached = getCachedPage(cache, contentHash, i, options);
+        if (cached != null) {
+          addToZip(zos, getPageFileName(i, options), cached, options, timer);
+          notifyProgress(listener, i + 1, pageCount);
+          continue;
+        }
+        RenderingGovernor.Reservation reservation = reserveRenderMemory(document.getPage(i), options);
+        try {
+          long renderStart = System.nanoTime();
+          BufferedImage image = pdfRenderer.renderImageWithDPI(i, options.getDpi(), options.getImageType());
+          timer.phase(PdfPhase.RENDER, renderStart);
+          timer.pageImage(image.getWidth(), image.getHeight());
+          long encodeStart = System.nanoTime();
+          if (cache == null) {
+            addToZip(zos, getPageFileName(i, options), image, options);
+            timer.phase(PdfPhase.ENCODE, encodeStart);
+          } else {
+            byte[] encoded = ImageEncoder.encode(image, options);
+            timer.phase(PdfPhase.ENCODE, encodeStart);
+            cache.put(PageImageCache.createKey(contentHash, i, options), encoded);
+            addToZip(zos, getPageFileName(i, options), encoded, options, timer);
+          }
+          image.flush();
+        } finally {
+          reservation.close();
+        }
+        notifyProgress(listener, i + 1, pageCount);
+      }
+      if (cache != null) {
+        cache.putPageCount(contentHash, pageCount);
+      }
+      zos.finish();
+      zos.flush();
+      return pageCount;
+    }
+  }
+
+  /**
+   * Renders every page into one multi-page TIFF instead of a ZIP with one image
+   * per page. Each page is compressed and appended as soon as it is rendered.
+   * The TIFF writer seeks back to link the pages, so the file is assembled in a
+   * temporary file cache rather than on the heap and copied to the stream at
+   * the end. The stream is not closed.
+   */
+  public static void writeMultiPageTiff(PdfSource source, TiffOptions options, OutputStream output)
+      throws IOException {
+    writeMultiPageTiff(source, options, output, null);
+  }
+
+  public static void writeMultiPageTiff(PdfSource source, TiffOptions options, OutputStream output,
+      ProgressListener listener) throws IOException {
+    PdfMetrics.record("writeMultiPageTiff", timer -> {
+      CountingOutputStream countingOutput = new CountingOutputStream(output);
+      try (ImageOutputStream imageOutput = new FileCacheImageOutputStream(countingOutput, null)) {
+        timer.setPages(writeTiffPages(source, options, imageOutput, listener, timer));
+      }
+      countingOutput.flush();
+      timer.setBytesOut(countingOutput.getCount());
+      return null;
+    });
+  }
+
+  /**
+   * Same as {@link #writeMultiPageTiff(PdfSource, TiffOptions, OutputStream)}
+   * but writes the TIFF directly into the file, which needs no cache.
+   */
+  public static void writeMultiPageTiff(PdfSource source, TiffOptions options, Path target) throws IOException {
+    PdfMetrics.record("writeMultiPageTiff", timer -> {
+      try (ImageOutputStream imageOutput = new FileImageOutputStream(target.toFile())) {
+        timer.setPages(writeTiffPages(source, options, imageOutput, null, timer));
+        timer.setBytesOut(imageOutput.length());
+      }
+      return null;
+    });
+  }
+
+  private static int writeTiffPages(PdfSource source, TiffOptions options, ImageOutputStream imageOutput,
+      ProgressListener listener, PdfMetrics.OperationTimer timer) throws IOException {
+    try (PDDocument document = timer.loadForReading(source);
+        TiffSequenceWriter tiffWriter = new TiffSequenceWriter(imageOutput, options)) {
+      PDFRenderer pdfRenderer = new PDFRenderer(document);
+      int pageCount = document.getNumberOfPages();
+      notifyProgress(listener, 0, pageCount);
+      for (int i = 0; i < pageCount; i++) {
+        RenderingGovernor.Reservation reservation = reserveRenderMemory(document.getPage(i), options);
+        try {
+          long renderStart = System.nanoTime();
+          BufferedImage image = pdfRenderer.renderImageWithDPI(i, options.getDpi(), options.getImageType());
+          timer.phase(PdfPhase.RENDER, renderStart);
+          timer.pageImage(image.getWidth(), image.getHeight());
+          long encodeStart = System.nanoTime();
+          tiffWriter.writePage(image);
+          timer.phase(PdfPhase.ENCODE, encodeStart);
+          image.flush();
+        } finally {
+          reservation.close();
+        }
+        notifyProgress(listener, i + 1, pageCount);
+      }
+      return pageCount;
+    }
+  }
+
+  /**
+   * Renders every page and hands its raw pixels to the sink instead of
+   * encoding it, e.g. for OCR or image analysis that would decode the image
+   * right away. One buffer is reused for all pages and only grows when a page
+   * needs more room, so the sink has to copy what it wants to keep.
+   */
+  public static void renderPixels(PdfSource source, PixelBufferOptions options, PixelPageSink sink)
+      throws IOException {
+    PdfMetrics.record("renderPixels", timer -> {
+      try (PDDocument document = timer.loadForReading(source)) {
+        PDFRenderer pdfRenderer = new PDFRenderer(document);
+        ImageType imageType = options.getImageType();
+        ByteBuffer buffer = null;
+        for (int i = 0; i < document.getNumberOfPages(); i++) {
+          RenderingGovernor.Reservation reservation = reserveRenderMemory(document.getPage(i), options);
+          try {
+            long renderStart = System.nanoTime();
+            BufferedImage image = pdfRenderer.renderImageWithDPI(i, options.getDpi(), imageType);
+            timer.phase(PdfPhase.RENDER, renderStart);
+            timer.pageImage(image.getWidth(), image.getHeight());
+            long copyStart = System.nanoTime();
+            int stride = PixelBuffers.getStride(imageType, image.getWidth());
+            buffer = PixelBuffers.ensureCapacity(buffer, stride * image.getHeight(), options.isDirectBuffer());
+            PixelBuffers.copyPixels(image, imageType, buffer);
+            timer.phase(PdfPhase.ENCODE, copyStart);
+            image.flush();
+            sink.accept(new PixelPage(i, image.getWidth(), image.getHeight(), stride, imageType,
+                buffer.flip().asReadOnlyBuffer()));
+          } finally {
+            reservation.close();
+          }
+        }
+        timer.setPages(document.getNumberOfPages());
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Renders every page as a grid of tiles into the ZIP, one entry per tile
+   * named after its page, row and column, all counted from 1 like the page
+   * images, e.g. {@code page_001_tile_001_001.png} is the top left tile of the
+   * first page.
+   * All tiles are rendered into one reused tile image through a shifted
+   * transform, so the memory needed per page is bounded by the tile size
+   * instead of the page size. Each tile renders the whole content stream of its
+   * page, clipped to the tile, so small tiles cost render time. The stream is
+   * not closed.
+   */
+  public static void writeTiledImagesFromPdf(PdfSource source, TileOptions options, OutputStream output)
+      throws IOException {
+    PdfMetrics.record("writeTiledImagesFromPdf", timer -> {
+      CountingOutputStream countingOutput = new CountingOutputStream(output);
+      try (PDDocument document = timer.loadForReading(source)) {
+        ZipOutputStream zos = createZipOutputStream(countingOutput, options);
+        PDFRenderer pdfRenderer = new PDFRenderer(document);
+        BufferedImage tile = null;
+        RenderingGovernor.Reservation reservation = RenderingGovernor.getGlobal().reserve(RenderingGovernor
+            .estimateBytes(new PDRectangle(options.getTileWidth(), options.getTileHeight()), 1,
+                options.getImageType()));
+        try {
+          for (int i = 0; i < document.getNumberOfPages(); i++) {
+            tile = writeTiles(document.getPage(i), i, pdfRenderer, tile, options, zos, timer);
+          }
+        } finally {
+          reservation.close();
+        }
+        zos.finish();
+        zos.flush();
+        timer.setPages(document.getNumberOfPages());
+      }
+      timer.setBytesOut(countingOutput.getCount());
+      return null;
+    });
+  }
+
+  private static BufferedImage writeTiles(PDPage page, int pageIndex, PDFRenderer pdfRenderer, BufferedImage tile,
+      TileOptions options, ZipOutputStream zos, PdfMetrics.OperationTimer timer) throws IOException {
+    float scale = options.getDpi() / POINTS_PER_INCH;
+    boolean rotated = page.getRotation() % 180 != 0;
+    PDRectangle cropBox = page.getCropBox();
+    float boxWidth = rotated ? cropBox.getHeight() : cropBox.getWidth();
+    float boxHeight = rotated ? cropBox.getWidth() : cropBox.getHeight();
+    int pageWidth = (int) Math.max(Math.floor(boxWidth * scale), 1);
+    int pageHeight = (int) Math.max(Math.floor(boxHeight * scale), 1);
+    if (tile == null) {
+      tile = new BufferedImage(options.getTileWidth(), options.getTileHeight(),
+          PixelBuffers.toBufferedImageType(options.getImageType()));
+    }
+    for (int row = 0; row * options.getTileHeight() < pageHeight; row++) {
+      for (int column = 0; column * options.getTileWidth() < pageWidth; column++) {
+        int x = column * options.getTileWidth();
+        int y = row * options.getTileHeight();
+        int width = Math.min(options.getTileWidth(), pageWidth - x);
+        int height = Math.min(options.getTileHeight(), pageHeight - y);
+        long renderStart = System.nanoTime();
+        Graphics2D graphics = tile.createGraphics();
+        try {
+          graphics.setBackground(options.getImageType() == ImageType.ARGB ? new Color(0, 0, 0, 0) : Color.WHITE);
+          graphics.clearRect(0, 0, tile.getWidth(), tile.getHeight());
+          graphics.clipRect(0, 0, width, height);
+          graphics.translate(-x, -y);
+          pdfRenderer.renderPageToGraphics(pageIndex, graphics, scale, scale, RenderDestination.EXPORT);
+        } finally {
+          graphics.dispose();
+        }
+        timer.phase(PdfPhase.RENDER, renderStart);
+        timer.pageImage(width, height);
+        BufferedImage region = width == tile.getWidth() && height == tile.getHeight() ? tile
+            : tile.getSubimage(0, 0, width, height);
+        long encodeStart = System.nanoTime();
+        byte[] encoded = ImageEncoder.encode(region, options);
+        timer.phase(PdfPhase.ENCODE, encodeStart);
+        addToZip(zos, String.format(TILE_IMAGE_PATTERN, pageIndex + 1, row + 1, column + 1, options.getImageFormat()),
+            encoded, options, timer);
+      }
+    }
+    return tile;
+  }
+
+  public static RenderedPage renderPage(PdfSource source, int pageIndex, ImageEncodingOptions options)
+      throws IOException {
+    return PdfMetrics.record("renderPage", timer -> {
+      try (PDDocument document = timer.loadForReading(source)) {
+        checkPageIndex(document, pageIndex);
+        timer.setPages(1);
+        return renderPage(document, new PDFRenderer(document), pageIndex, options, timer);
+      }
+    });
+  }
+
+  /**
+   * Renders the pages from {@code fromIndex} (inclusive) to {@code toIndex}
+   * (exclusive), both zero based. See {@link #renderPages(PdfSource, ImageEncodingOptions, List)}.
+   */
+  public static Stream<RenderedPage> renderPageRange(PdfSource source, ImageEncodingOptions options, int fromIndex,
+      int toIndex) throws IOException {
+    return renderPages(source, options, IntStream.range(fromIndex, toIndex).boxed().toList());
+  }
+
+  /**
+   * Returns a lazy stream that renders and encodes one page each time the
+   * caller pulls the next element, so a caller that stops after the first page
+   * only pays for that page. The document stays open until the stream is
+   * closed, so use it in a try-with-resources block. Render failures are thrown
+   * as {@link UncheckedIOException}.
+   */
+  public static Stream<RenderedPage> renderPages(PdfSource source, ImageEncodingOptions options,
+      List<Integer> pageIndexes) throws IOException {
+    PdfMetrics.OperationTimer timer = PdfMetrics.start("renderPages");
+    PDDocument document;
+    try {
+      document = timer.loadForReading(source);
+    } catch (IOException e) {
+      timer.failed(e);
+      throw e;
+    }
+    try {
+      for (int pageIndex : pageIndexes) {
+        checkPageIndex(document, pageIndex);
+      }
+    } catch (IllegalArgumentException e) {
+      timer.failed(e);
+      document.close();
+      throw e;
+    }
+    PDFRenderer renderer = new PDFRenderer(document);
+    AtomicInteger renderedPages = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    return List.copyOf(pageIndexes).stream().map(pageIndex -> {
+      try {
+        RenderedPage page = renderPage(document, renderer, pageIndex, options, timer);
+        renderedPages.incrementAndGet();
+        return page;
+      } catch (IOException e) {
+        failed.set(true);
+        timer.failed(e);
+        throw new UncheckedIOException(e);
+      }
+    }).onClose(() -> {
+      if (!failed.get()) {
+        timer.setPages(renderedPages.get());
+        timer.succeeded();
+      }
+      IOUtils.closeQuietly(document);
+    });
+  }
+
+  /**
+   * Renders a page so that it fits into the bounding box of the options. The
+   * scale is computed from the visible page size, which means the page is
+   * rendered at the lowest DPI that still fills the box.
+   */
+  public static RenderedPage createThumbnail(PdfSource source, int pageIndex, ThumbnailOptions options)
+      throws IOException {
+    return PdfMetrics.record("createThumbnail", timer -> createThumbnail(source, pageIndex, options, timer));
+  }
+
+  private static RenderedPage createThumbnail(PdfSource source, int pageIndex, ThumbnailOptions options,
+      PdfMetrics.OperationTimer timer) throws IOException {
+    try (PDDocument document = timer.loadForReading(source)) {
+      checkPageIndex(document, pageIndex);
+      timer.setPages(1);
+      PDFRenderer renderer = new PDFRenderer(document);
+      if (options.isFastRendering()) {
+        renderer.setSubsamplingAllowed(true);
+        renderer.setRenderingHints(createFastRenderingHints());
+      }
+      if (!options.isIncludeAnnotations()) {
+        renderer.setAnnotationsFilter(annotation -> false);
+      }
+      PDPage page = document.getPage(pageIndex);
+      float scale = getThumbnailScale(page, options);
+      RenderingGovernor.Reservation reservation = RenderingGovernor.getGlobal()
+          .reserve(RenderingGovernor.estimateBytes(page.getCropBox(), scale, options.getImageType()));
+      try {
+        long renderStart = System.nanoTime();
+        BufferedImage image = renderer.renderImage(pageIndex, scale, options.getImageType());
+        timer.phase(PdfPhase.RENDER, renderStart);
+        timer.pageImage(image.getWidth(), image.getHeight());
+        long encodeStart = System.nanoTime();
+        byte[] encoded = ImageEncoder.encode(image, options);
+        timer.phase(PdfPhase.ENCODE, encodeStart);
+        image.flush();
+        return new RenderedPage(pageIndex, getPageFileName(pageIndex, options), image.getWidth(),
+            image.getHeight(), encoded);
+      } finally {
+        reservation.close();
+      }
+    }
+  }
+
+  private static float getThumbnailScale(PDPage page, ThumbnailOptions options) {
+    PDRectangle cropBox = page.getCropBox();
+    boolean rotated = page.getRotation() % 180 != 0;
+    float pageWidth = rotated ? cropBox.getHeight() : cropBox.getWidth();
+    float pageHeight = rotated ? cropBox.getWidth() : cropBox.getHeight();
+    float scale = Float.MAX_VALUE;
+    if (options.getMaxWidth() > 0) {
+      scale = options.getMaxWidth() / pageWidth;
+    }
+    if (options.getMaxHeight() > 0) {
+      scale = Math.min(scale, options.getMaxHeight() / pageHeight);
+    }
+    if (scale == Float.MAX_VALUE) {
+      throw new IllegalArgumentException("A thumbnail needs a maximum width or height");
+    }
+    return scale;
+  }
+
+  private static RenderingHints createFastRenderingHints() {
+    RenderingHints hints = new RenderingHints(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+    hints.put(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+    hints.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    hints.put(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_SPEED);
+    hints.put(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_SPEED);
+    return hints;
+  }
+
+  static RenderedPage renderPage(PDDocument document, PDFRenderer renderer, int pageIndex,
+      ImageEncodingOptions options, PdfMetrics.OperationTimer timer) throws IOException {
+    RenderingGovernor.Reservation reservation = reserveRenderMemory(document.getPage(pageIndex), options);
+    try {
+      long renderStart = System.nanoTime();
+      BufferedImage image = renderer.renderImageWithDPI(pageIndex, options.getDpi(), options.getImageType());
+      timer.phase(PdfPhase.RENDER, renderStart);
+      timer.pageImage(image.getWidth(), image.getHeight());
+      long encodeStart = System.nanoTime();
+      byte[] encoded = ImageEncoder.encode(image, options);
+      timer.phase(PdfPhase.ENCODE, encodeStart);
+      image.flush();
+      return new RenderedPage(pageIndex, getPageFileName(pageIndex, options), image.getWidth(), image.getHeight(),
+          encoded);
+    } finally {
+      reservation.close();
+    }
+  }
+
+  /**
+   * Reserves the pixel memory of the page from the global
+   * {@link RenderingGovernor} before it is rendered.
+   */
+  static RenderingGovernor.Reservation reserveRenderMemory(PDPage page, ImageEncodingOptions options)
+      throws IOException {
+    return RenderingGovernor.getGlobal().reserve(estimateRenderMemory(page, options));
+  }
+
+  private static long estimateRenderMemory(PDPage page, ImageEncodingOptions options) {
+    return RenderingGovernor.estimateBytesForDpi(page.getCropBox(), options.getDpi(), options.getImageType());
+  }
+
+  private static void checkPageIndex(PDDocument document, int pageIndex) {
+    if (pageIndex < 0 || pageIndex >= document.getNumberOfPages()) {
+      throw new IllegalArgumentException(
+          String.format("Page index %d is out of range, the document has %d pages", pageIndex,
+              document.getNumberOfPages()));
+    }
+  }
+
+  /**
+   * PDDocument is not thread-safe, so every worker renders from its own copy of
+   * the document. Encoded pages are collected in a window of pending futures
+   * and written to the ZIP in page order.
+   */
+  private static int writeZippedImagesInParallel(PdfSource source, ImageEncodingOptions options, int parallelism,
+      PageImageCache cache, String contentHash, OutputStream output, ProgressListener listener,
+      PdfMetrics.OperationTimer timer) throws IOException {
+    List<PDDocument> documents = new ArrayList<>();
+    ThreadPoolExecutor executor = null;
+    try {
+      PDDocument firstDocument = timer.loadForReading(source);
+      documents.add(firstDocument);
+      int pageCount = firstDocument.getNumberOfPages();
+      notifyProgress(listener, 0, pageCount);
+      int workers = Math.max(1, Math.min(parallelism, pageCount));
+      BlockingQueue<PDFRenderer> renderers = new ArrayBlockingQueue<>(workers);
+      renderers.add(new PDFRenderer(firstDocument));
+      for (int i = 1; i < workers; i++) {
+        PDDocument document = SharedResourceCache.getGlobal().attach(source.load());
+        documents.add(document);
+        renderers.add(new PDFRenderer(document));
+      }
+
+      int window = workers * 2;
+      executor = ExecutorUtils.newBoundedExecutor(workers, window, "pdf-render");
+      ZipOutputStream zos = createZipOutputStream(output, options);
+      Deque<Future<byte[]>> pending = new ArrayDeque<>();
+      int nextPage = 0;
+      for (int i = 0; i < pageCount; i++) {
+        int pageIndex = i;
+        long renderMemory = estimateRenderMemory(firstDocument.getPage(i), options);
+        pending.add(executor.submit(
+            () -> renderAndEncode(renderers, pageIndex, renderMemory, options, cache, contentHash, timer)));
+        if (pending.size() >= window) {
+          addToZip(zos, getPageFileName(nextPage++, options), ExecutorUtils.await(pending.poll()), options, timer);
+          notifyProgress(listener, nextPage, pageCount);
+        }
+      }
+      while (!pending.isEmpty()) {
+        addToZip(zos, getPageFileName(nextPage++, options), ExecutorUtils.await(pending.poll()), options, timer);
+        notifyProgress(listener, nextPage, pageCount);
+      }
+      if (cache != null) {
+        cache.putPageCount(contentHash, pageCount);
+      }
+      zos.finish();
+      zos.flush();
+      return pageCount;
+    } finally {
+      // workers may still render the documents, and closing them returns their
+      // fonts to the shared cache
+      if (executor != null) {
+        ExecutorUtils.shutdownAndAwait(executor);
+      }
+      documents.forEach(IOUtils::closeQuietly);
+    }
+  }
+
+  private static byte[] renderAndEncode(BlockingQueue<PDFRenderer> renderers, int pageIndex, long renderMemory,
+      ImageEncodingOptions options, PageImageCache cache, String contentHash, PdfMetrics.OperationTimer timer)
+      throws IOException, InterruptedException {
+    byte[] cached = getCachedPage(cache, contentHash, pageIndex, options);
+    if (cached != null) {
+      return cached;
+    }
+    RenderingGovernor.Reservation reservation = RenderingGovernor.getGlobal().reserve(renderMemory);
+    PDFRenderer renderer = null;
+    try {
+      renderer = renderers.take();
+      long renderStart = System.nanoTime();
+      BufferedImage image = renderer.renderImageWithDPI(pageIndex, options.getDpi(), options.getImageType());
+      timer.phase(PdfPhase.RENDER, renderStart);
+      renderers.put(renderer);
+      renderer = null;
+      timer.pageImage(image.getWidth(), image.getHeight());
+      long encodeStart = System.nanoTime();
+      byte[] encoded = ImageEncoder.encode(image, options);
+      timer.phase(PdfPhase.ENCODE, encodeStart);
+      image.flush();
+      if (cache != null) {
+        cache.put(PageImageCache.createKey(contentHash, pageIndex, options), encoded);
+      }
+      return encoded;
+    } finally {
+      reservation.close();
+      if (renderer != null) {
+        renderers.put(renderer);
+      }
+    }
+  }
+
+  private static byte[] getCachedPage(PageImageCache cache, String contentHash, int pageIndex,
+      ImageEncodingOptions options) {
+    return cache == null ? null : cache.get(PageImageCache.createKey(contentHash, pageIndex, options));
+  }
+
+  /**
+   * Writes the ZIP from the cache alone if the page count and every page of
+   * the document are cached. Pages are read one at a time while they are
+   * written, so the ZIP is never held in memory. A page evicted since the
+   * check is rendered from the document. Nothing is written if a page is
+   * missing from the start.
+   */
+  private static boolean writeCachedPages(PdfSource source, PageImageCache cache, String contentHash,
+      ImageEncodingOptions options, OutputStream output, ProgressListener listener, PdfMetrics.OperationTimer timer)
+      throws IOException {
+    Integer pageCount = cache.getPageCount(contentHash);
+    if (pageCount == null || !IntStream.range(0, pageCount)
+        .allMatch(i -> cache.contains(PageImageCache.createKey(contentHash, i, options)))) {
+      return false;
+    }
+    ZipOutputStream zos = createZipOutputStream(output, options);
+    notifyProgress(listener, 0, pageCount);
+    PDDocument document = null;
+    try {
+      PDFRenderer pdfRenderer = null;
+      for (int i = 0; i < pageCount; i++) {
+        byte[] page = getCachedPage(cache, contentHash, i, options);
+        if (page == null) {
+          if (document == null) {
+            document = timer.loadForReading(source);
+            pdfRenderer = new PDFRenderer(document);
+          }
+          page = renderPage(document, pdfRenderer, i, options, timer).getContent();
+          cache.put(PageImageCache.createKey(contentHash, i, options), page);
+        }
+        addToZip(zos, getPageFileName(i, options), page, options, timer);
+        notifyProgress(listener, i + 1, pageCount);
+      }
+    } finally {
+      IOUtils.closeQuietly(document);
+    }
+    zos.finish();
+    zos.flush();
+    return true;
+  }
+
+  private static void notifyProgress(ProgressListener listener, int completedPages, int pageCount)
       throws IOException {
+    if (listener != null) {
+      listener.onProgress(completedPages, pageCount);
+    }
+  }
+
+  static String getPageFileName(int pageIndex, ImageEncodingOptions options) {
+    return String.format(SEPARATED_IMAGE_PATTERN, pageIndex + 1, options.getImageFormat());
+  }
+
+  static ZipOutputStream createZipOutputStream(OutputStream output, ImageEncodingOptions options) {
+    ZipOutputStream zos = new ZipOutputStream(output);
+    zos.setLevel(options.getZipDeflateLevel());
+    return zos;
+  }
+
+  private static void addToZip(ZipOutputStream zos, String fileName, BufferedImage image,
+      ImageEncodingOptions options) throws IOException {
+    if (options.isStoredInZip()) {
+      addToZip(zos, fileName, ImageEncoder.encode(image, options), options);
+      return;
+    }
+    zos.putNextEntry(new ZipEntry(fileName));
+    ImageEncoder.encode(image, options, zos);
+    zos.closeEntry();
+  }
+
+  static void addToZip(ZipOutputStream zos, String fileName, byte[] encodedImage,
+      ImageEncodingOptions options, PdfMetrics.OperationTimer timer) throws IOException {
+    long zipStart = System.nanoTime();
+    addToZip(zos, fileName, encodedImage, options);
+    timer.phase(PdfPhase.ZIP, zipStart);
+  }
+
+  /**
+   * Stored entries need their size and checksum before the data is written,
+   * so they are always added from the encoded bytes.
+   */
+  private static void addToZip(ZipOutputStream zos, String fileName, byte[] encodedImage,
+      ImageEncodingOptions options) throws IOException {
     ZipEntry entry = new ZipEntry(fileName);
+    if (options.isStoredInZip()) {
+      CRC32 crc = new CRC32();
+      crc.update(encodedImage);
+      entry.setMethod(ZipEntry.STORED);
+      entry.setSize(encodedImage.length);
+      entry.setCompressedSize(encodedImage.length);
+      entry.setCrc(crc.getValue());
+    }
     zos.putNextEntry(entry);
-    ImageIO.write(image, format, zos);
+    zos.write(encodedImage);
     zos.closeEntry();
   }
 
   public static void fillAcroForm(PDDocument document, Map<String, String> data) throws IOException {
+    fillAcroForm(document, data, AcroFormFillMode.NEED_APPEARANCES);
+  }
+
+  public static void fillAcroForm(PDDocument document, Map<String, String> data, AcroFormFillMode fillMode)
+      throws IOException {
+    PdfMetrics.record("fillAcroForm", timer -> {
+      fillAcroForm(document, data, fillMode, timer);
+      return null;
+    });
+  }
+
+  static void fillAcroForm(PDDocument document, Map<String, String> data, AcroFormFillMode fillMode,
+      PdfMetrics.OperationTimer timer) throws IOException {
+    long fillStart = System.nanoTime();
+    if (fillMode == AcroFormFillMode.FLATTEN) {
+      fillAndFlatten(document, data, null);
+    } else {
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      if (acroForm != null) {
+        setFieldValues(acroForm, indexFields(acroForm), data, fillMode == AcroFormFillMode.GENERATE_APPEARANCES);
+      }
+    }
+    timer.phase(PdfPhase.FILL, fillStart);
+  }
+
+  /**
+   * Fills the form with values translated by the schema of the form, so check
+   * boxes and radio buttons accept values like "true" or a differently cased
+   * on value. Values for fields the schema does not know are ignored.
+   */
+  public static void fillAcroForm(PDDocument document, FormFieldSchema schema, Map<String, String> data,
+      AcroFormFillMode fillMode) throws IOException {
+    fillAcroForm(document, schema.toFieldValues(data), fillMode);
+  }
+
+  /**
+   * Fills the form and writes it to the output as incremental update: the
+   * original file is copied unchanged and only the changed fields, their
+   * widgets and appearances are appended. This is much cheaper than a full
+   * save for large files and keeps existing signatures valid. The document
+   * must have been loaded from a file or a stream, and it can not be
+   * flattened, as flattening rewrites the page content.
+   */
+  public static void fillAcroFormIncremental(PDDocument document, Map<String, String> data,
+      AcroFormFillMode fillMode, OutputStream output) throws IOException {
+    if (fillMode == AcroFormFillMode.FLATTEN) {
+      throw new IllegalArgumentException("A flattened form can not be saved as incremental update");
+    }
+    PdfMetrics.record("fillAcroFormIncremental", timer -> {
+      long fillStart = System.nanoTime();
+      Set<COSDictionary> changedObjects = new HashSet<>();
+      PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
+      if (acroForm != null) {
+        List<PDField> changedFields = setFieldValues(acroForm, indexFields(acroForm), data,
+            fillMode == AcroFormFillMode.GENERATE_APPEARANCES);
+        changedObjects.add(document.getDocumentCatalog().getCOSObject());
+        changedObjects.add(acroForm.getCOSObject());
+        for (PDField field : changedFields) {
+          collectChangedObjects(field, changedObjects);
+        }
+      }
+      timer.phase(PdfPhase.FILL, fillStart);
+      long saveStart = System.nanoTime();
+      CountingOutputStream countingOutput = new CountingOutputStream(output);
+      document.saveIncremental(countingOutput, changedObjects);
+      timer.phase(PdfPhase.SAVE, saveStart);
+      timer.setBytesOut(countingOutput.getCount());
+      return null;
+    });
+  }
+
+  /**
+   * Fills the form with generated appearances and flattens the given fields
+   * into the page content. All fields are flattened when
+   * {@code fieldsToFlatten} is null.
+   */
+  public static void fillAndFlattenAcroForm(PDDocument document, Map<String, String> data,
+      Collection<String> fieldsToFlatten) throws IOException {
+    PdfMetrics.record("fillAndFlattenAcroForm", timer -> {
+      long fillStart = System.nanoTime();
+      fillAndFlatten(document, data, fieldsToFlatten);
+      timer.phase(PdfPhase.FILL, fillStart);
+      return null;
+    });
+  }
+
+  private static void fillAndFlatten(PDDocument document, Map<String, String> data,
+      Collection<String> fieldsToFlatten) throws IOException {
     PDAcroForm acroForm = document.getDocumentCatalog().getAcroForm();
     if (acroForm == null) {
       return;
     }
+    Map<String, PDField> fieldsByName = indexFields(acroForm);
+    setFieldValues(acroForm, fieldsByName, data, true);
+    if (fieldsToFlatten == null) {
+      acroForm.flatten();
+      return;
+    }
+    List<PDField> fields = new ArrayList<>();
+    for (String fieldName : fieldsToFlatten) {
+      PDField field = fieldsByName.get(fieldName);
+      if (field != null) {
+        fields.add(field);
+      }
+    }
+    acroForm.flatten(fields, false);
+  }
+
+  /**
+   * Maps every field by its fully qualified name in a single walk over the
+   * field tree. {@link PDAcroForm#getField(String)} walks the tree on every
+   * call unless the form caches its fields, which would make filling large
+   * forms quadratic.
+   */
+  private static Map<String, PDField> indexFields(PDAcroForm acroForm) {
+    Map<String, PDField> fields = new HashMap<>();
+    for (PDField field : acroForm.getFieldTree()) {
+      fields.putIfAbsent(field.getFullyQualifiedName(), field);
+    }
+    return fields;
+  }
 
-    acroForm.setNeedAppearances(true);
+  /**
+   * PDFBox builds the appearance of a field when its value is set. With
+   * NeedAppearances switched off viewers use these appearances instead of
+   * rebuilding every field, so only changed fields get new appearances.
+   */
+  private static List<PDField> setFieldValues(PDAcroForm acroForm, Map<String, PDField> fields,
+      Map<String, String> data, boolean generateAppearances) throws IOException {
+    acroForm.setNeedAppearances(!generateAppearances);
+    List<PDField> changedFields = new ArrayList<>();
     for (Map.Entry<String, String> entry : data.entrySet()) {
-      PDField field = acroForm.getField(entry.getKey());
-      if (field != null) {
-        field.setValue(entry.getValue());
+      PDField field = fields.get(entry.getKey());
+      if (field == null) {
+        continue;
+      }
+      if (generateAppearances && isUnchanged(field, entry.getValue())) {
+        continue;
+      }
+      field.setValue(entry.getValue());
+      changedFields.add(field);
+    }
+    return changedFields;
+  }
+
+  /**
+   * Collects the objects a value change touches: the field itself, its
+   * widgets, which get a new appearance state, and their normal appearance
+   * streams, which PDFBox rewrites in place.
+   */
+  private static void collectChangedObjects(PDField field, Set<COSDictionary> changedObjects) {
+    changedObjects.add(field.getCOSObject());
+    for (PDAnnotationWidget widget : field.getWidgets()) {
+      changedObjects.add(widget.getCOSObject());
+      PDAppearanceDictionary appearance = widget.getAppearance();
+      if (appearance != null) {
+        changedObjects.add(appearance.getCOSObject());
+        PDAppearanceEntry normalAppearance = appearance.getNormalAppearance();
+        if (normalAppearance != null) {
+          changedObjects.add(normalAppearance.getCOSObject());
+        }
+      }
+    }
+  }
+
+  private static boolean isUnchanged(PDField field, String value) {
+    if (!Objects.equals(field.getValueAsString(), value)) {
+      return false;
+    }
+    for (PDAnnotationWidget widget : field.getWidgets()) {
+      PDAppearanceDictionary appearance = widget.getAppearance();
+      if (appearance == null || appearance.getNormalAppearance() == null) {
+        return false;
       }
     }
+    return true;
   }
 }
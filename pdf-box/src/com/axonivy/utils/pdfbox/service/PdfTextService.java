@@ -0,0 +1,198 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+
+import com.axonivy.utils.pdfbox.enums.PdfPhase;
+import com.axonivy.utils.pdfbox.model.PdfSource;
+import com.axonivy.utils.pdfbox.utils.ExecutorUtils;
+
+/**
+ * Extracts the text of a PDF with {@link PDFTextStripper}. Text is handed out
+ * page by page or written to a {@link Writer}, so large documents never end up
+ * as one big string.
+ */
+public class PdfTextService {
+  private static final int MAX_PAGES_PER_CHUNK = 16;
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  /**
+   * Receives the text of every extracted page in page order.
+   */
+  @FunctionalInterface
+  public interface PageTextConsumer {
+    void accept(int pageIndex, String text) throws IOException;
+  }
+
+  public static String extractText(PdfSource source) throws IOException {
+    StringWriter writer = new StringWriter();
+    writeText(source, writer);
+    return writer.toString();
+  }
+
+  public static void writeText(PdfSource source, Writer writer) throws IOException {
+    PdfMetrics.record("writeText", timer -> {
+      try (PDDocument document = timer.loadForReading(source)) {
+        long textStart = System.nanoTime();
+        new PDFTextStripper().writeText(document, writer);
+        timer.phase(PdfPhase.TEXT, textStart);
+        timer.setPages(document.getNumberOfPages());
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Writes the text of the pages from {@code fromIndex} (inclusive) to
+   * {@code toIndex} (exclusive), both zero based. With a parallelism above one
+   * the pages are extracted as described in
+   * {@link #extractPageTexts(PdfSource, int, int, int, PageTextConsumer)}.
+   */
+  public static void writeText(PdfSource source, int fromIndex, int toIndex, int parallelism, Writer writer)
+      throws IOException {
+    PdfMetrics.record("writeText", timer -> {
+      if (parallelism > 1 && source.isReloadable()) {
+        extractPageTextsInParallel(source, fromIndex, toIndex, parallelism, (pageIndex, text) -> writer.write(text),
+            timer);
+        writer.flush();
+        return null;
+      }
+      try (PDDocument document = timer.loadForReading(source)) {
+        checkPageRange(document, fromIndex, toIndex);
+        long textStart = System.nanoTime();
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(fromIndex + 1);
+        stripper.setEndPage(toIndex);
+        stripper.writeText(document, writer);
+        timer.phase(PdfPhase.TEXT, textStart);
+        timer.setPages(toIndex - fromIndex);
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Extracts the pages from {@code fromIndex} (inclusive) to {@code toIndex}
+   * (exclusive) one by one and passes their text to the consumer in page
+   * order. With a parallelism above one, chunks of pages are extracted by
+   * workers that each load their own copy of the document, as PDDocument is
+   * not thread-safe. Only a window of chunks is kept in memory until the
+   * consumer took them.
+   */
+  public static void extractPageTexts(PdfSource source, int fromIndex, int toIndex, int parallelism,
+      PageTextConsumer consumer) throws IOException {
+    PdfMetrics.record("extractPageTexts", timer -> {
+      if (parallelism > 1 && source.isReloadable()) {
+        extractPageTextsInParallel(source, fromIndex, toIndex, parallelism, consumer, timer);
+        return null;
+      }
+      try (PDDocument document = timer.loadForReading(source)) {
+        checkPageRange(document, fromIndex, toIndex);
+        PDFTextStripper stripper = new PDFTextStripper();
+        for (int i = fromIndex; i < toIndex; i++) {
+          consumer.accept(i, extractPageText(stripper, document, i, timer));
+        }
+        timer.setPages(toIndex - fromIndex);
+      }
+      return null;
+    });
+  }
+
+  private static void extractPageTextsInParallel(PdfSource source, int fromIndex, int toIndex, int parallelism,
+      PageTextConsumer consumer, PdfMetrics.OperationTimer timer) throws IOException {
+    List<PDDocument> documents = new ArrayList<>();
+    ThreadPoolExecutor executor = null;
+    try {
+      PDDocument firstDocument = timer.loadForReading(source);
+      documents.add(firstDocument);
+      checkPageRange(firstDocument, fromIndex, toIndex);
+      int pageCount = toIndex - fromIndex;
+      int workers = Math.max(1, Math.min(parallelism, pageCount));
+      int chunkSize = Math.max(1, Math.min(MAX_PAGES_PER_CHUNK, pageCount / (workers * CHUNKS_PER_WORKER)));
+      BlockingQueue<PDDocument> idleDocuments = new ArrayBlockingQueue<>(workers);
+      idleDocuments.add(firstDocument);
+      for (int i = 1; i < workers; i++) {
+        PDDocument document = SharedResourceCache.getGlobal().attach(source.load());
+        documents.add(document);
+        idleDocuments.add(document);
+      }
+
+      int window = workers * 2;
+      executor = ExecutorUtils.newBoundedExecutor(workers, window, "pdf-text");
+      Deque<Future<List<String>>> pending = new ArrayDeque<>();
+      int nextPage = fromIndex;
+      for (int start = fromIndex; start < toIndex; start += chunkSize) {
+        int chunkStart = start;
+        int chunkEnd = Math.min(toIndex, start + chunkSize);
+        pending.add(executor.submit(() -> extractChunk(idleDocuments, chunkStart, chunkEnd, timer)));
+        if (pending.size() >= window) {
+          nextPage = acceptChunk(ExecutorUtils.await(pending.poll()), nextPage, consumer);
+        }
+      }
+      while (!pending.isEmpty()) {
+        nextPage = acceptChunk(ExecutorUtils.await(pending.poll()), nextPage, consumer);
+      }
+      timer.setPages(pageCount);
+    } finally {
+      // workers may still strip text from the documents, and closing them
+      // returns their fonts to the shared cache
+      if (executor != null) {
+        ExecutorUtils.shutdownAndAwait(executor);
+      }
+      documents.forEach(IOUtils::closeQuietly);
+    }
+  }
+
+  private static List<String> extractChunk(BlockingQueue<PDDocument> idleDocuments, int start, int end,
+      PdfMetrics.OperationTimer timer) throws IOException, InterruptedException {
+    PDDocument document = idleDocuments.take();
+    try {
+      PDFTextStripper stripper = new PDFTextStripper();
+      List<String> texts = new ArrayList<>(end - start);
+      for (int i = start; i < end; i++) {
+        texts.add(extractPageText(stripper, document, i, timer));
+      }
+      return texts;
+    } finally {
+      idleDocuments.put(document);
+    }
+  }
+
+  private static int acceptChunk(List<String> texts, int firstPage, PageTextConsumer consumer) throws IOException {
+    int pageIndex = firstPage;
+    for (String text : texts) {
+      consumer.accept(pageIndex++, text);
+    }
+    return pageIndex;
+  }
+
+  static String extractPageText(PDFTextStripper stripper, PDDocument document, int pageIndex,
+      PdfMetrics.OperationTimer timer) throws IOException {
+    long textStart = System.nanoTime();
+    stripper.setStartPage(pageIndex + 1);
+    stripper.setEndPage(pageIndex + 1);
+    String text = stripper.getText(document);
+    timer.phase(PdfPhase.TEXT, textStart);
+    return text;
+  }
+
+  private static void checkPageRange(PDDocument document, int fromIndex, int toIndex) {
+    if (fromIndex < 0 || fromIndex > toIndex || toIndex > document.getNumberOfPages()) {
+      throw new IllegalArgumentException(String.format("Page range %d to %d is out of range, the document has %d pages",
+          fromIndex, toIndex, document.getNumberOfPages()));
+    }
+  }
+}
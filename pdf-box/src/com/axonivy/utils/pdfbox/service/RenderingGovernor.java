@@ -0,0 +1,159 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+
+/**
+ * Shared memory budget for page images. Every page reserves the estimated
+ * size of its pixel buffer before it is rendered and gives it back once the
+ * image is encoded. When the budget is used up, further pages wait in FIFO
+ * order, so concurrent conversions slow down instead of running the engine
+ * out of memory.
+ *
+ * <p>
+ * {@link PdfService} uses the {@link #getGlobal() global} governor, which
+ * allows a quarter of the maximum heap and lets pages wait two minutes.
+ */
+public class RenderingGovernor {
+  private static final long PERMIT_BYTES = 1024;
+  private static final double POINTS_PER_INCH = 72;
+  private static volatile RenderingGovernor global = new RenderingGovernor(Runtime.getRuntime().maxMemory() / 4,
+      Duration.ofMinutes(2));
+
+  /**
+   * Thrown when a page can not be rendered within the budget, either because
+   * it is larger than the whole budget or because memory was not released in
+   * time.
+   */
+  public static class RenderingBudgetExceededException extends IOException {
+    private static final long serialVersionUID = 1L;
+    private final boolean largerThanBudget;
+
+    public RenderingBudgetExceededException(String message, boolean largerThanBudget) {
+      super(message);
+      this.largerThanBudget = largerThanBudget;
+    }
+
+    /**
+     * Whether the page needs more than the whole budget, so it fails again
+     * however long it waits.
+     */
+    public boolean isLargerThanBudget() {
+      return largerThanBudget;
+    }
+  }
+
+  /**
+   * Reserved memory, which is released when the reservation is closed.
+   */
+  public interface Reservation extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  private final long budgetBytes;
+  private final Duration maxWait;
+  private final int totalPermits;
+  private final Semaphore permits;
+
+  /**
+   * @param maxWait how long a page waits for memory before it is rejected, zero
+   *          rejects immediately
+   */
+  public RenderingGovernor(long budgetBytes, Duration maxWait) {
+    if (budgetBytes <= 0) {
+      throw new IllegalArgumentException("The rendering budget must be positive");
+    }
+    this.budgetBytes = budgetBytes;
+    this.maxWait = Objects.requireNonNull(maxWait);
+    this.totalPermits = toPermits(budgetBytes);
+    this.permits = new Semaphore(totalPermits, true);
+  }
+
+  public static RenderingGovernor getGlobal() {
+    return global;
+  }
+
+  public static void setGlobal(RenderingGovernor governor) {
+    global = Objects.requireNonNull(governor);
+  }
+
+  /**
+   * Estimates the size of the pixel buffer of a page box rendered at the given
+   * scale, where a scale of 1 means 72 DPI. The pixel size is rounded like
+   * {@link org.apache.pdfbox.rendering.PDFRenderer} does.
+   */
+  public static long estimateBytes(PDRectangle box, float scale, ImageType imageType) {
+    long width = Math.max(1, (long) Math.floor(box.getWidth() * scale));
+    long height = Math.max(1, (long) Math.floor(box.getHeight() * scale));
+    return width * height * getBytesPerPixel(imageType);
+  }
+
+  public static long estimateBytesForDpi(PDRectangle box, float dpi, ImageType imageType) {
+    return estimateBytes(box, (float) (dpi / POINTS_PER_INCH), imageType);
+  }
+
+  /**
+   * Reserves the memory, waiting at most the configured time for other pages
+   * to release theirs.
+   */
+  public Reservation reserve(long bytes) throws IOException {
+    int needed = toPermits(bytes);
+    if (needed > totalPermits) {
+      throw new RenderingBudgetExceededException(String.format(
+          "Rendering needs %d bytes, which is more than the rendering budget of %d bytes", bytes, budgetBytes),
+          true);
+    }
+    try {
+      if (!permits.tryAcquire(needed, maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+        throw new RenderingBudgetExceededException(String.format(
+            "Rendering needs %d bytes, but the rendering budget was not released within %s", bytes, maxWait),
+            false);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while waiting for the rendering budget");
+    }
+    AtomicBoolean released = new AtomicBoolean();
+    return () -> {
+      if (released.compareAndSet(false, true)) {
+        permits.release(needed);
+      }
+    };
+  }
+
+  public long getBudgetBytes() {
+    return budgetBytes;
+  }
+
+  public long getAvailableBytes() {
+    return permits.availablePermits() * PERMIT_BYTES;
+  }
+
+  /**
+   * The number of pages currently waiting for memory.
+   */
+  public int getWaitingCount() {
+    return permits.getQueueLength();
+  }
+
+  private static int toPermits(long bytes) {
+    return (int) Math.min(Integer.MAX_VALUE, Math.max(1, (bytes + PERMIT_BYTES - 1) / PERMIT_BYTES));
+  }
+
+  private static int getBytesPerPixel(ImageType imageType) {
+    return switch (imageType) {
+    case RGB, ARGB -> 4;
+    case BGR -> 3;
+    case GRAY, BINARY -> 1;
+    };
+  }
+}
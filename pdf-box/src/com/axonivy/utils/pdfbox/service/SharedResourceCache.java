@@ -0,0 +1,328 @@
+package com.axonivy.utils.pdfbox.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSBoolean;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSDocument;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.DefaultResourceCache;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import com.axonivy.utils.pdfbox.model.CacheStatistics;
+
+import ch.ivyteam.ivy.environment.Ivy;
+
+/**
+ * Shares parsed fonts between documents, so rendering many PDFs made from the
+ * same templates parses every embedded font program only once. Fonts are keyed
+ * by a hash over their dictionary and the raw bytes of their streams, so equal
+ * fonts of different documents share one entry. The cache is bounded by the
+ * raw size of the cached font programs and drops the least recently used
+ * fonts first.
+ *
+ * <p>
+ * A parsed font is not thread-safe, so a cached font is only handed to one
+ * open document at a time and becomes available again once that document is
+ * closed. Documents that are rendered at the same time get their own copies.
+ * Other resources, e.g. images, read their data lazily from their own document
+ * and stay in the per document cache of PDFBox.
+ *
+ * <p>
+ * Only attach the cache to documents that are read, e.g. rendered or
+ * stripped. A document that is modified and saved could otherwise end up
+ * referencing the font objects of another document.
+ */
+public class SharedResourceCache {
+  public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+  private static final long ENTRY_OVERHEAD_BYTES = 1024;
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int HASH_BUFFER_SIZE = 16 * 1024;
+  private static volatile SharedResourceCache global = new SharedResourceCache(DEFAULT_MAX_BYTES);
+
+  private static final class FontEntry {
+    private final PDFont font;
+    private final long bytes;
+    private WeakReference<COSDocument> owner;
+
+    private FontEntry(PDFont font, long bytes, COSDocument owner) {
+      this.font = font;
+      this.bytes = bytes;
+      this.owner = new WeakReference<>(owner);
+    }
+
+    private boolean isAvailableFor(COSDocument document) {
+      COSDocument currentOwner = owner.get();
+      return currentOwner == null || currentOwner == document || currentOwner.isClosed();
+    }
+  }
+
+  private static final class FontKey {
+    private final String hash;
+    private final long bytes;
+
+    private FontKey(String hash, long bytes) {
+      this.hash = hash;
+      this.bytes = bytes;
+    }
+  }
+
+  private final long maxBytes;
+  private final LinkedHashMap<String, List<FontEntry>> fonts = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+  private int entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maxBytes raw size of the font programs kept at most, zero or below
+   *          disables sharing
+   */
+  public SharedResourceCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  public static SharedResourceCache getGlobal() {
+    return global;
+  }
+
+  public static void setGlobal(SharedResourceCache cache) {
+    global = Objects.requireNonNull(cache);
+  }
+
+  /**
+   * Sets a resource cache on the document that takes fonts from this cache
+   * and adds newly parsed ones to it.
+   */
+  public PDDocument attach(PDDocument document) {
+    if (maxBytes > 0) {
+      document.setResourceCache(new DocumentResourceCache(document.getDocument()));
+    }
+    return document;
+  }
+
+  public CacheStatistics getStatistics() {
+    synchronized (fonts) {
+      return new CacheStatistics(hits.sum(), 0, misses.sum(), evictions.sum(), entries, bytes, 0);
+    }
+  }
+
+  public void clear() {
+    synchronized (fonts) {
+      fonts.clear();
+      entries = 0;
+      bytes = 0;
+    }
+  }
+
+  private PDFont borrowFont(FontKey key, COSDocument document) {
+    synchronized (fonts) {
+      List<FontEntry> candidates = fonts.get(key.hash);
+      if (candidates != null) {
+        for (FontEntry entry : candidates) {
+          if (entry.isAvailableFor(document)) {
+            entry.owner = new WeakReference<>(document);
+            hits.increment();
+            return entry.font;
+          }
+        }
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  private void offerFont(FontKey key, PDFont font, COSDocument document) {
+    synchronized (fonts) {
+      if (key.bytes > maxBytes || !makeRoom(key.bytes)) {
+        return;
+      }
+      fonts.computeIfAbsent(key.hash, hash -> new ArrayList<>(1)).add(new FontEntry(font, key.bytes, document));
+      entries++;
+      bytes += key.bytes;
+    }
+  }
+
+  /**
+   * Drops the least recently used fonts that no open document uses until the
+   * new font fits.
+   */
+  private boolean makeRoom(long requiredBytes) {
+    Iterator<List<FontEntry>> lists = fonts.values().iterator();
+    while (bytes + requiredBytes > maxBytes && lists.hasNext()) {
+      List<FontEntry> candidates = lists.next();
+      for (Iterator<FontEntry> it = candidates.iterator(); it.hasNext() && bytes + requiredBytes > maxBytes;) {
+        FontEntry entry = it.next();
+        if (entry.isAvailableFor(null)) {
+          it.remove();
+          entries--;
+          bytes -= entry.bytes;
+          evictions.increment();
+        }
+      }
+      if (candidates.isEmpty()) {
+        lists.remove();
+      }
+    }
+    return bytes + requiredBytes <= maxBytes;
+  }
+
+  /**
+   * Hashes the font dictionary with everything it references. Resolving every
+   * reference on the way also detaches the font from the parser of its
+   * document, so it can still be used after that document was closed. Type 3
+   * fonts draw their glyphs with content streams of their document and are
+   * never shared.
+   */
+  private static FontKey createFontKey(COSObject indirect) {
+    if (!(indirect.getObject() instanceof COSDictionary dictionary)
+        || COSName.TYPE3.equals(dictionary.getCOSName(COSName.SUBTYPE))) {
+      return null;
+    }
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      long streamBytes = digest(dictionary, digest, Collections.newSetFromMap(new IdentityHashMap<>()));
+      return new FontKey(HexFormat.of().formatHex(digest.digest()), streamBytes + ENTRY_OVERHEAD_BYTES);
+    } catch (IOException e) {
+      Ivy.log().warn("Can not share font, its streams can not be read", e);
+      return null;
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+    }
+  }
+
+  private static long digest(COSBase base, MessageDigest digest, Set<COSBase> visited) throws IOException {
+    COSBase object = base instanceof COSObject indirect ? indirect.getObject() : base;
+    if (object instanceof COSDictionary dictionary) {
+      if (!visited.add(dictionary)) {
+        digest.update((byte) 'R');
+        return 0;
+      }
+      digest.update((byte) 'D');
+      long streamBytes = 0;
+      for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+        digestText(entry.getKey().getName(), digest);
+        streamBytes += digest(entry.getValue(), digest, visited);
+      }
+      if (dictionary instanceof COSStream stream) {
+        streamBytes += digestStream(stream, digest);
+      }
+      return streamBytes;
+    }
+    if (object instanceof COSArray array) {
+      digest.update((byte) 'A');
+      long streamBytes = 0;
+      for (COSBase element : array) {
+        streamBytes += digest(element, digest, visited);
+      }
+      digest.update((byte) 'E');
+      return streamBytes;
+    }
+    if (object instanceof COSName name) {
+      digest.update((byte) 'N');
+      digestText(name.getName(), digest);
+    } else if (object instanceof COSString string) {
+      digest.update((byte) 'S');
+      digestBytes(string.getBytes(), digest);
+    } else if (object instanceof COSNumber number) {
+      digest.update((byte) 'F');
+      digestText(Float.toString(number.floatValue()), digest);
+    } else if (object instanceof COSBoolean bool) {
+      digest.update(bool.getValue() ? (byte) 'T' : (byte) 'B');
+    } else {
+      digest.update((byte) '0');
+    }
+    return 0;
+  }
+
+  private static long digestStream(COSStream stream, MessageDigest digest) throws IOException {
+    long length = 0;
+    byte[] buffer = new byte[HASH_BUFFER_SIZE];
+    try (InputStream input = stream.createRawInputStream()) {
+      int read;
+      while ((read = input.read(buffer)) > 0) {
+        digest.update(buffer, 0, read);
+        length += read;
+      }
+    }
+    digestText(Long.toString(length), digest);
+    return length;
+  }
+
+  private static void digestText(String text, MessageDigest digest) {
+    digestBytes(text.getBytes(StandardCharsets.UTF_8), digest);
+  }
+
+  private static void digestBytes(byte[] bytes, MessageDigest digest) {
+    digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+    digest.update((byte) ':');
+    digest.update(bytes);
+  }
+
+  /**
+   * Resource cache of one document. Everything but fonts is cached per
+   * document as by default.
+   */
+  private class DocumentResourceCache extends DefaultResourceCache {
+    private final WeakReference<COSDocument> document;
+    private final Map<COSObject, FontKey> pendingFonts = new IdentityHashMap<>();
+
+    private DocumentResourceCache(COSDocument document) {
+      this.document = new WeakReference<>(document);
+    }
+
+    @Override
+    public PDFont getFont(COSObject indirect) {
+      PDFont font = super.getFont(indirect);
+      COSDocument owner = document.get();
+      if (font != null || owner == null) {
+        return font;
+      }
+      FontKey key = createFontKey(indirect);
+      if (key == null) {
+        return null;
+      }
+      font = borrowFont(key, owner);
+      if (font == null) {
+        pendingFonts.put(indirect, key);
+      } else {
+        super.put(indirect, font);
+      }
+      return font;
+    }
+
+    @Override
+    public void put(COSObject indirect, PDFont font) {
+      super.put(indirect, font);
+      FontKey key = pendingFonts.remove(indirect);
+      COSDocument owner = document.get();
+      if (key != null && owner != null) {
+        offerFont(key, font, owner);
+      }
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.axonivy.utils.pdfbox.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ExecutorUtils {
+  private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+  /**
+   * Creates a fixed size pool whose work queue is bounded as well. When the
+   * queue is full the submitting thread runs the task itself, which throttles
+   * producers instead of piling up work.
+   */
+  public static ThreadPoolExecutor newBoundedExecutor(int threads, int queueCapacity, String threadNamePrefix) {
+    int poolSize = Math.max(1, threads);
+    AtomicInteger counter = new AtomicInteger();
+    ThreadFactory threadFactory = runnable -> {
+      Thread thread = new Thread(runnable, threadNamePrefix + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(Math.max(1, queueCapacity)), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  /**
+   * Interrupts the workers and waits until they have stopped, so resources they
+   * work on can be closed afterwards. Rendering does not check for interrupts,
+   * so a worker may finish its current page first. Waits at most a minute, also
+   * if the calling thread is interrupted, whose interrupt flag is kept.
+   */
+  public static void shutdownAndAwait(ExecutorService executor) {
+    executor.shutdownNow();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SHUTDOWN_TIMEOUT_SECONDS);
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        try {
+          executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          return;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * Waits for the future and unwraps the failure of the task, so callers only
+   * have to deal with {@link IOException}.
+   */
+  public static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new InterruptedIOException("Interrupted while waiting for a worker");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException ioException) {
+        throw ioException;
+      }
+      if (cause instanceof UncheckedIOException uncheckedIOException) {
+        throw uncheckedIOException.getCause();
+      }
+      if (cause instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      if (cause instanceof Error error) {
+        throw error;
+      }
+      throw new IOException(cause);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.axonivy.utils.pdfbox.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+import com.axonivy.utils.pdfbox.model.ImageEncodingOptions;
+
+public class ImageEncoder {
+  private static final float MAX_PNG_COMPRESSION_LEVEL = 9f;
+
+  public static byte[] encode(BufferedImage image, ImageEncodingOptions options) throws IOException {
+    try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+      encode(image, options, baos);
+      return baos.toByteArray();
+    }
+  }
+
+  /**
+   * Encodes the image with the writer settings of the options. The output
+   * stream is not closed.
+   */
+  public static void encode(BufferedImage image, ImageEncodingOptions options, OutputStream output)
+      throws IOException {
+    String format = options.getImageFormat();
+    ImageWriter writer = findWriter(image, format);
+    try (ImageOutputStream imageOutput = new MemoryCacheImageOutputStream(output)) {
+      writer.setOutput(imageOutput);
+      writer.write(null, new IIOImage(image, null, null), createWriteParam(writer, format, options));
+    } finally {
+      writer.dispose();
+    }
+  }
+
+  private static ImageWriter findWriter(BufferedImage image, String format) throws IOException {
+    Iterator<ImageWriter> writers = ImageIO.getImageWriters(ImageTypeSpecifier.createFromRenderedImage(image),
+        format);
+    if (!writers.hasNext()) {
+      throw new IOException(
+          String.format("No image writer for format '%s' and image type %d", format, image.getType()));
+    }
+    return writers.next();
+  }
+
+  private static ImageWriteParam createWriteParam(ImageWriter writer, String format, ImageEncodingOptions options) {
+    ImageWriteParam param = writer.getDefaultWriteParam();
+    if (!param.canWriteCompressed()) {
+      return param;
+    }
+    if (isJpeg(format) && options.getJpegQuality() >= 0) {
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(Math.min(1f, options.getJpegQuality()));
+    } else if ("png".equalsIgnoreCase(format) && options.getPngCompressionLevel() >= 0) {
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      float level = Math.min(MAX_PNG_COMPRESSION_LEVEL, options.getPngCompressionLevel());
+      param.setCompressionQuality((MAX_PNG_COMPRESSION_LEVEL - level) / MAX_PNG_COMPRESSION_LEVEL);
+    }
+    return param;
+  }
+
+  private static boolean isJpeg(String format) {
+    return "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+  }
+}
@@ -0,0 +1,108 @@
+package com.axonivy.utils.pdfbox.utils;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.MultiPixelPackedSampleModel;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.nio.ByteBuffer;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+/**
+ * Copies rendered images into byte buffers in the layout described by
+ * {@link com.axonivy.utils.pdfbox.model.PixelPage#getImageType()}. Byte based
+ * images are copied row by row, integer based ones are split into channels
+ * without going through the color model.
+ */
+public class PixelBuffers {
+
+  public static int getStride(ImageType imageType, int width) {
+    return switch (imageType) {
+      case BINARY -> (width + 7) / 8;
+      case GRAY -> width;
+      case RGB, BGR -> width * 3;
+      case ARGB -> width * 4;
+    };
+  }
+
+  /**
+   * Type of the images PDFBox renders for the image type.
+   */
+  public static int toBufferedImageType(ImageType imageType) {
+    return switch (imageType) {
+      case BINARY -> BufferedImage.TYPE_BYTE_BINARY;
+      case GRAY -> BufferedImage.TYPE_BYTE_GRAY;
+      case RGB -> BufferedImage.TYPE_INT_RGB;
+      case ARGB -> BufferedImage.TYPE_INT_ARGB;
+      case BGR -> BufferedImage.TYPE_3BYTE_BGR;
+    };
+  }
+
+  /**
+   * Returns the buffer if it can hold the given number of bytes, otherwise a
+   * new one that can.
+   */
+  public static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes, boolean direct) {
+    if (buffer != null && buffer.capacity() >= bytes) {
+      return buffer.clear();
+    }
+    return direct ? ByteBuffer.allocateDirect(bytes) : ByteBuffer.allocate(bytes);
+  }
+
+  /**
+   * Writes the pixels of the image to the buffer, starting at its position.
+   */
+  public static void copyPixels(BufferedImage image, ImageType imageType, ByteBuffer target) {
+    int bufferedImageType = toBufferedImageType(imageType);
+    BufferedImage source = image.getType() == bufferedImageType ? image : convert(image, bufferedImageType);
+    Raster raster = source.getRaster();
+    int width = source.getWidth();
+    int height = source.getHeight();
+    if (raster.getDataBuffer() instanceof DataBufferByte bytes) {
+      copyRows(bytes.getData(), getScanlineStride(raster), getStride(imageType, width), height, target);
+    } else {
+      int[] data = ((DataBufferInt) raster.getDataBuffer()).getData();
+      int scanlineStride = ((SinglePixelPackedSampleModel) raster.getSampleModel()).getScanlineStride();
+      boolean withAlpha = imageType == ImageType.ARGB;
+      for (int y = 0; y < height; y++) {
+        int offset = y * scanlineStride;
+        for (int x = 0; x < width; x++) {
+          int argb = data[offset + x];
+          if (withAlpha) {
+            target.put((byte) (argb >>> 24));
+          }
+          target.put((byte) (argb >> 16)).put((byte) (argb >> 8)).put((byte) argb);
+        }
+      }
+    }
+  }
+
+  private static void copyRows(byte[] data, int scanlineStride, int stride, int height, ByteBuffer target) {
+    if (scanlineStride == stride) {
+      target.put(data, 0, stride * height);
+      return;
+    }
+    for (int y = 0; y < height; y++) {
+      target.put(data, y * scanlineStride, stride);
+    }
+  }
+
+  private static int getScanlineStride(Raster raster) {
+    if (raster.getSampleModel() instanceof MultiPixelPackedSampleModel packed) {
+      return packed.getScanlineStride();
+    }
+    return ((ComponentSampleModel) raster.getSampleModel()).getScanlineStride();
+  }
+
+  private static BufferedImage convert(BufferedImage image, int bufferedImageType) {
+    BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), bufferedImageType);
+    Graphics2D graphics = converted.createGraphics();
+    graphics.drawImage(image, 0, 0, null);
+    graphics.dispose();
+    return converted;
+  }
+}
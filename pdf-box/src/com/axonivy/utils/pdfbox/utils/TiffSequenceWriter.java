@@ -0,0 +1,90 @@
+package com.axonivy.utils.pdfbox.utils;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataFormatImpl;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.apache.pdfbox.rendering.ImageType;
+
+import com.axonivy.utils.pdfbox.model.TiffOptions;
+
+/**
+ * Appends pages to a multi-page TIFF with the ImageIO TIFF writer. The writer
+ * seeks back to link every new page to the previous ones, so the output must
+ * stay seekable until the writer is closed, e.g. a file or a file cache.
+ */
+public class TiffSequenceWriter implements AutoCloseable {
+  private static final double MILLIMETERS_PER_INCH = 25.4;
+
+  private final ImageWriter writer;
+  private final ImageWriteParam param;
+  private final TiffOptions options;
+
+  public TiffSequenceWriter(ImageOutputStream output, TiffOptions options) throws IOException {
+    if (options.getCompression().isBilevelOnly() && options.getImageType() != ImageType.BINARY) {
+      throw new IllegalArgumentException(String.format("%s compression needs bilevel pages, not %s",
+          options.getCompression(), options.getImageType()));
+    }
+    var writers = ImageIO.getImageWritersByFormatName(TiffOptions.TIFF_FORMAT);
+    if (!writers.hasNext()) {
+      throw new IOException("No TIFF image writer available");
+    }
+    this.writer = writers.next();
+    this.options = options;
+    this.param = writer.getDefaultWriteParam();
+    String compressionType = options.getCompression().getCompressionType();
+    if (compressionType == null) {
+      param.setCompressionMode(ImageWriteParam.MODE_DISABLED);
+    } else {
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionType(compressionType);
+    }
+    writer.setOutput(output);
+    writer.prepareWriteSequence(null);
+  }
+
+  public void writePage(BufferedImage image) throws IOException {
+    writer.writeToSequence(new IIOImage(image, null, createMetadata(image)), param);
+  }
+
+  /**
+   * Stores the DPI of the options as resolution of the page, so printers and
+   * fax gateways scale the page correctly.
+   */
+  private IIOMetadata createMetadata(BufferedImage image) throws IOException {
+    IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+    String pixelSize = Double.toString(MILLIMETERS_PER_INCH / options.getDpi());
+    IIOMetadataNode horizontal = new IIOMetadataNode("HorizontalPixelSize");
+    horizontal.setAttribute("value", pixelSize);
+    IIOMetadataNode vertical = new IIOMetadataNode("VerticalPixelSize");
+    vertical.setAttribute("value", pixelSize);
+    IIOMetadataNode dimension = new IIOMetadataNode("Dimension");
+    dimension.appendChild(horizontal);
+    dimension.appendChild(vertical);
+    IIOMetadataNode root = new IIOMetadataNode(IIOMetadataFormatImpl.standardMetadataFormatName);
+    root.appendChild(dimension);
+    metadata.mergeTree(IIOMetadataFormatImpl.standardMetadataFormatName, root);
+    return metadata;
+  }
+
+  /**
+   * Finishes the TIFF. The output is not closed.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      writer.endWriteSequence();
+    } finally {
+      writer.dispose();
+    }
+  }
+}